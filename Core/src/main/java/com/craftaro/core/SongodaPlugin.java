@@ -9,7 +9,9 @@ import com.craftaro.core.dependency.DependencyLoader;
 import com.craftaro.core.dependency.Relocation;
 import com.craftaro.core.hooks.HookRegistryManager;
 import com.craftaro.core.locale.Locale;
+import com.craftaro.core.locale.LocaleManager;
 import com.craftaro.core.utils.Metrics;
+import com.craftaro.core.utils.SkullItemCreator;
 import de.tr7zw.changeme.nbtapi.utils.MinecraftVersion;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -29,6 +31,7 @@ import java.util.logging.Level;
 
 public abstract class SongodaPlugin extends JavaPlugin {
     protected Locale locale;
+    protected LocaleManager localeManager;
     protected Config config;
     protected Config databaseConfig;
     protected DataManager dataManager;
@@ -151,6 +154,7 @@ public abstract class SongodaPlugin extends JavaPlugin {
 
             // Load Data.
             Bukkit.getScheduler().runTaskLater(this, this::onDataLoad, this.dataLoadDelay);
+            SkullItemCreator.loadProfileStore();
 
             if (this.emergencyStop) {
                 console.sendMessage(ChatColor.RED + "~~~~~~~~~~~~~~~~~~~~~~~~~~~~~");
@@ -195,6 +199,7 @@ public abstract class SongodaPlugin extends JavaPlugin {
         }
 
         this.hookRegistryManager.deactivateAllActiveHooks();
+        SkullItemCreator.shutdown();
 
         console.sendMessage(ChatColor.GREEN + "=============================");
         console.sendMessage(" "); // blank line to separate chatter
@@ -204,6 +209,42 @@ public abstract class SongodaPlugin extends JavaPlugin {
         return this.locale;
     }
 
+    /**
+     * Get the locale to use for messages sent to a specific receiver. <br>
+     * If per-player locales are enabled, players get the locale matching their client language.
+     * Otherwise, this is the same as {@link #getLocale()}.
+     *
+     * @param sender the receiver of the message
+     *
+     * @return the locale to use
+     *
+     * @see #enablePlayerLocales()
+     */
+    public Locale getLocale(CommandSender sender) {
+        if (this.localeManager != null) {
+            return this.localeManager.getLocale(sender);
+        }
+
+        return this.locale;
+    }
+
+    /**
+     * @return the manager holding all loaded locales, or null if per-player locales are not enabled
+     */
+    public LocaleManager getLocaleManager() {
+        return this.localeManager;
+    }
+
+    /**
+     * Load all locales of this plugin and send messages in the client's language
+     * through {@link #getLocale(CommandSender)}. <br>
+     * Call this in {@link #onPluginEnable()} after the plugin's locale has been set.
+     */
+    protected void enablePlayerLocales() {
+        this.localeManager = new LocaleManager(this, this.locale);
+        this.localeManager.loadAll();
+    }
+
     /**
      * Set the plugin's locale to a specific language
      *
@@ -217,9 +258,16 @@ public abstract class SongodaPlugin extends JavaPlugin {
             return !reload || this.locale.reloadMessages();
         }
 
-        Locale loadedLocale = Locale.loadLocale(this, localeName);
+        Locale loadedLocale = this.localeManager != null ? this.localeManager.getLocale(localeName) : null;
+        if (loadedLocale == null) {
+            loadedLocale = Locale.loadLocale(this, localeName);
+        }
+
         if (loadedLocale != null) {
             this.locale = loadedLocale;
+            if (this.localeManager != null) {
+                this.localeManager.setDefaultLocale(loadedLocale);
+            }
             return true;
         }
 
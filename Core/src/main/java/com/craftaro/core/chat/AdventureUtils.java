@@ -2,6 +2,10 @@ package com.craftaro.core.chat;
 
 import com.craftaro.core.compatibility.ServerProject;
 import com.craftaro.core.compatibility.ServerVersion;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -24,15 +28,43 @@ import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class AdventureUtils {
+    /**
+     * Maximum amount of parsed strings kept per cache
+     */
+    private static final int PARSE_CACHE_SIZE = 2048;
+
+    // Caches for repeatedly formatted inputs - Components are immutable, so they can be shared safely
+    private static final Cache<String, Component> COMPONENT_CACHE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE).recordStats().build();
+    private static final Cache<String, String> LEGACY_CACHE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE).recordStats().build();
+    private static final Cache<String, String> CLEAR_CACHE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE).recordStats().build();
+    /**
+     * Strings that missed one of the caches above once. They are only cached on their second miss, so one-off strings
+     * (e.g. with a player name or number filled in) don't push reusable ones out of the caches.
+     */
+    private static final Cache<String, Boolean> COMPONENT_SEEN_ONCE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE * 2L).build();
+    private static final Cache<String, Boolean> LEGACY_SEEN_ONCE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE * 2L).build();
+    private static final Cache<String, Boolean> CLEAR_SEEN_ONCE = CacheBuilder.newBuilder().maximumSize(PARSE_CACHE_SIZE * 2L).build();
+
+    private static final Pattern LEGACY_CODE_PATTERN = Pattern.compile("[&§][0-9abcdefklmnor]|&#[0-9a-fA-F]{6}");
+
     private static Method displayNameMethod = null;
     private static Method setLoreMethod = null;
     private static Method getLoreMethod = null;
     private static Object gsonComponentSerializer;
     private static Method gsonDeserializeMethod;
+    private static Class<?> nativeAudienceClass;
+    private static Method nativeSendMessageMethod;
+    private static Method nativeSendActionBarMethod;
+    private static Method nativeShowTitleMethod;
+    private static Method nativeTitleMethod;
+    private static Method nativeTitleTimesMethod;
 
     static {
         if (ServerProject.isServer(ServerProject.PAPER) && ServerVersion.isServerVersionAtLeast(ServerVersion.V1_18)) {
@@ -47,6 +79,26 @@ public class AdventureUtils {
 
             } catch (Exception ignored) {
             }
+
+            // Paper's CommandSenders are (non-shaded) audiences we can hand a pre-converted component to
+            try {
+                Class<?> componentClass = Class.forName("net;kyori;adventure;text;Component".replace(";", "."));
+                Class<?> audienceClass = Class.forName("net;kyori;adventure;audience;Audience".replace(";", "."));
+                Class<?> titleClass = Class.forName("net;kyori;adventure;title;Title".replace(";", "."));
+                Class<?> titleTimesClass = Class.forName("net;kyori;adventure;title;Title$Times".replace(";", "."));
+
+                nativeSendMessageMethod = audienceClass.getMethod("sendMessage", componentClass);
+                nativeSendActionBarMethod = audienceClass.getMethod("sendActionBar", componentClass);
+                nativeShowTitleMethod = audienceClass.getMethod("showTitle", titleClass);
+                nativeTitleMethod = titleClass.getMethod("title", componentClass, componentClass, titleTimesClass);
+                try {
+                    nativeTitleTimesMethod = titleTimesClass.getMethod("times", Duration.class, Duration.class, Duration.class);
+                } catch (NoSuchMethodException ex) {
+                    nativeTitleTimesMethod = titleTimesClass.getMethod("of", Duration.class, Duration.class, Duration.class);
+                }
+                nativeAudienceClass = audienceClass;
+            } catch (Exception ignored) {
+            }
         }
     }
 
@@ -138,13 +190,160 @@ public class AdventureUtils {
     }
 
     public static void sendMessage(Plugin plugin, Component message, CommandSender... target) {
-        try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(plugin)) {
-            for (CommandSender sender : target) {
-                bukkitAudiences.sender(sender).sendMessage(message);
+        broadcastMessage(plugin, message, Arrays.asList(target));
+    }
+
+    /**
+     * Send a message to all given targets. <br>
+     * The message is only converted once and the same converted component is sent to every target.
+     *
+     * @param plugin  The plugin sending the message
+     * @param message The message to send
+     * @param targets The receivers of the message
+     */
+    public static void broadcastMessage(Plugin plugin, Component message, Collection<? extends CommandSender> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<CommandSender> remaining = sendNative(nativeSendMessageMethod, message, targets);
+        if (!remaining.isEmpty()) {
+            try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(plugin)) {
+                toAudience(bukkitAudiences, remaining).sendMessage(message);
+            }
+        }
+    }
+
+    /**
+     * Send an action bar to all given targets. <br>
+     * The message is only converted once and the same converted component is sent to every target.
+     *
+     * @param plugin  The plugin sending the action bar
+     * @param message The message to send
+     * @param targets The receivers of the action bar
+     */
+    public static void broadcastActionBar(Plugin plugin, Component message, Collection<? extends CommandSender> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<CommandSender> remaining = sendNative(nativeSendActionBarMethod, message, targets);
+        if (!remaining.isEmpty()) {
+            try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(plugin)) {
+                toAudience(bukkitAudiences, remaining).sendActionBar(message);
             }
         }
     }
 
+    /**
+     * Show a title to all given targets. <br>
+     * The title is only converted once and the same converted title is sent to every target.
+     *
+     * @param plugin  The plugin sending the title
+     * @param title   The title to show
+     * @param targets The receivers of the title
+     */
+    public static void broadcastTitle(Plugin plugin, Title title, Collection<? extends CommandSender> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<CommandSender> remaining = new ArrayList<>(targets);
+        Object nativeTitle = containsNativeAudience(targets) ? convertToOriginalTitle(title) : null;
+        if (nativeTitle != null) {
+            remaining = invokeNative(nativeShowTitleMethod, nativeTitle, targets);
+        }
+
+        if (!remaining.isEmpty()) {
+            try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(plugin)) {
+                toAudience(bukkitAudiences, remaining).showTitle(title);
+            }
+        }
+    }
+
+    /**
+     * Sends the component to all targets that support it natively
+     *
+     * @return all targets that still need to receive the component
+     */
+    private static List<CommandSender> sendNative(Method method, Component component, Collection<? extends CommandSender> targets) {
+        if (method == null || gsonDeserializeMethod == null || !containsNativeAudience(targets)) {
+            return new ArrayList<>(targets);
+        }
+
+        Object nativeComponent = convertToOriginalComponent(component);
+        if (nativeComponent == null) {
+            return new ArrayList<>(targets);
+        }
+
+        return invokeNative(method, nativeComponent, targets);
+    }
+
+    private static List<CommandSender> invokeNative(Method method, Object argument, Collection<? extends CommandSender> targets) {
+        List<CommandSender> remaining = new ArrayList<>(0);
+        for (CommandSender target : targets) {
+            if (!nativeAudienceClass.isInstance(target)) {
+                remaining.add(target);
+                continue;
+            }
+
+            try {
+                method.invoke(target, argument);
+            } catch (ReflectiveOperationException ex) {
+                remaining.add(target);
+            }
+        }
+        return remaining;
+    }
+
+    private static boolean containsNativeAudience(Collection<? extends CommandSender> targets) {
+        if (nativeAudienceClass == null) {
+            return false;
+        }
+
+        for (CommandSender target : targets) {
+            if (nativeAudienceClass.isInstance(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object convertToOriginalTitle(Title title) {
+        if (nativeTitleMethod == null || gsonDeserializeMethod == null) {
+            return null;
+        }
+
+        try {
+            Object times = null;
+            if (title.times() != null) {
+                times = nativeTitleTimesMethod.invoke(null, title.times().fadeIn(), title.times().stay(), title.times().fadeOut());
+            }
+
+            Object titleComponent = convertToOriginalComponent(title.title());
+            Object subtitleComponent = convertToOriginalComponent(title.subtitle());
+            if (titleComponent == null || subtitleComponent == null) {
+                return null;
+            }
+
+            return nativeTitleMethod.invoke(null, titleComponent, subtitleComponent, times);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    private static Audience toAudience(BukkitAudiences bukkitAudiences, List<CommandSender> targets) {
+        if (targets.size() == 1) {
+            return bukkitAudiences.sender(targets.get(0));
+        }
+
+        List<Audience> audiences = new ArrayList<>(targets.size());
+        for (CommandSender target : targets) {
+            audiences.add(bukkitAudiences.sender(target));
+        }
+        return Audience.audience(audiences);
+    }
+
     //Items
     public static void formatItemName(ItemStack item, String name) {
         formatItemName(item, formatComponent(name));
@@ -238,10 +437,19 @@ public class AdventureUtils {
 
     // Formatting stuff
     public static Component formatComponent(String text) {
-        MiniMessage miniMessage = MiniMessage.builder().build();
-        Component component = MiniMessage.miniMessage().deserialize(replaceLegacy(text));
-        if (!component.hasDecoration(TextDecoration.ITALIC)) {
-            component = component.decoration(TextDecoration.ITALIC, false);
+        if (!hasFormatting(text)) {
+            return Component.text(text).decoration(TextDecoration.ITALIC, false);
+        }
+
+        Component component = COMPONENT_CACHE.getIfPresent(text);
+        if (component == null) {
+            component = MiniMessage.miniMessage().deserialize(replaceLegacy(text));
+            if (!component.hasDecoration(TextDecoration.ITALIC)) {
+                component = component.decoration(TextDecoration.ITALIC, false);
+            }
+            if (shouldCache(COMPONENT_SEEN_ONCE, text)) {
+                COMPONENT_CACHE.put(text, component);
+            }
         }
         return component;
     }
@@ -292,8 +500,19 @@ public class AdventureUtils {
     }
 
     public static String formatLegacy(String text) {
-        return ChatColor.translateAlternateColorCodes('&',
-                LegacyComponentSerializer.legacyAmpersand().serialize(MiniMessage.miniMessage().deserialize(replaceLegacy(text))));
+        if (!hasFormatting(text)) {
+            return text;
+        }
+
+        String result = LEGACY_CACHE.getIfPresent(text);
+        if (result == null) {
+            result = ChatColor.translateAlternateColorCodes('&',
+                    LegacyComponentSerializer.legacyAmpersand().serialize(MiniMessage.miniMessage().deserialize(replaceLegacy(text))));
+            if (shouldCache(LEGACY_SEEN_ONCE, text)) {
+                LEGACY_CACHE.put(text, result);
+            }
+        }
+        return result;
     }
 
     public static List<String> formatLegacy(List<String> list) {
@@ -333,7 +552,11 @@ public class AdventureUtils {
     }
 
     public static String replaceLegacy(String legacy) {
-        StringBuilder builder = new StringBuilder();
+        if (legacy.indexOf('&') == -1 && legacy.indexOf('§') == -1) {
+            return legacy;
+        }
+
+        StringBuilder builder = new StringBuilder(legacy.length() + 16);
         for (int i = 0; i < legacy.length(); i++) {
             char current = legacy.charAt(i);
             char next = legacy.charAt(i == legacy.length() - 1 ? i : i + 1);
@@ -422,10 +645,70 @@ public class AdventureUtils {
     }
 
     public static String clear(String msg) {
-        msg = msg.replaceAll("&[0-9abcdefklmnor]", "");
-        msg = msg.replaceAll("§[0-9abcdefklmnor]", "");
-        msg = msg.replaceAll("&#[0-9a-fA-F]{6}", "");
-        return PlainTextComponentSerializer.plainText().serialize(MiniMessage.miniMessage().deserialize(msg));
+        if (!hasFormatting(msg)) {
+            return msg;
+        }
+
+        String result = CLEAR_CACHE.getIfPresent(msg);
+        if (result == null) {
+            result = LEGACY_CODE_PATTERN.matcher(msg).replaceAll("");
+            result = PlainTextComponentSerializer.plainText().serialize(MiniMessage.miniMessage().deserialize(result));
+            if (shouldCache(CLEAR_SEEN_ONCE, msg)) {
+                CLEAR_CACHE.put(msg, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the text might contain MiniMessage tags, escapes or legacy color codes.
+     * Text without any of them does not need to be parsed.
+     *
+     * @param text The text to check
+     *
+     * @return false if the text is guaranteed to be plain text
+     */
+    private static boolean hasFormatting(String text) {
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            if (c == '<' || c == '&' || c == '§' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param seenOnce the strings that missed the cache to put the text in once
+     */
+    private static boolean shouldCache(Cache<String, Boolean> seenOnce, String text) {
+        if (seenOnce.getIfPresent(text) != null) {
+            seenOnce.invalidate(text);
+            return true;
+        }
+
+        seenOnce.put(text, Boolean.TRUE);
+        return false;
+    }
+
+    /**
+     * @return the combined hit/miss statistics of the caches used by {@link #formatComponent(String)},
+     * {@link #formatLegacy(String)} and {@link #clear(String)}
+     */
+    public static CacheStats getParseCacheStats() {
+        return COMPONENT_CACHE.stats().plus(LEGACY_CACHE.stats()).plus(CLEAR_CACHE.stats());
+    }
+
+    /**
+     * Removes all cached parse results
+     */
+    public static void invalidateParseCache() {
+        COMPONENT_CACHE.invalidateAll();
+        LEGACY_CACHE.invalidateAll();
+        CLEAR_CACHE.invalidateAll();
+        COMPONENT_SEEN_ONCE.invalidateAll();
+        LEGACY_SEEN_ONCE.invalidateAll();
+        CLEAR_SEEN_ONCE.invalidateAll();
     }
 
     public static String clear(Component component) {
@@ -448,11 +731,12 @@ public class AdventureUtils {
     }
 
     public static Component formatPlaceholder(Component message, MiniMessagePlaceholder... placeholder) {
-        return message.replaceText(builder -> {
-            for (MiniMessagePlaceholder place : placeholder) {
-                builder.matchLiteral(place.getPlaceholder()).replacement(formatComponent(place.getValue()));
-            }
-        });
+        // a replacement config only holds one match, so every placeholder needs its own pass
+        for (MiniMessagePlaceholder place : placeholder) {
+            Component replacement = formatComponent(place.getValue());
+            message = message.replaceText(builder -> builder.matchLiteral(place.getPlaceholder()).replacement(replacement));
+        }
+        return message;
     }
 
     //Bukkit defaults for time
@@ -477,14 +761,10 @@ public class AdventureUtils {
     }
 
     public static void sendTitle(JavaPlugin hijackedPlugin, Title title, CommandSender sender) {
-        try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(hijackedPlugin)) {
-            bukkitAudiences.sender(sender).showTitle(title);
-        }
+        broadcastTitle(hijackedPlugin, title, Collections.singletonList(sender));
     }
 
     public static void sendActionBar(JavaPlugin hijackedPlugin, Component message, CommandSender sender) {
-        try (BukkitAudiences bukkitAudiences = BukkitAudiences.create(hijackedPlugin)) {
-            bukkitAudiences.sender(sender).sendActionBar(message);
-        }
+        broadcastActionBar(hijackedPlugin, message, Collections.singletonList(sender));
     }
 }
@@ -400,6 +400,7 @@ public class Config extends ConfigSection {
             this.root.defaults.clear();
         }
 
+        markModified();
         return this;
     }
 
@@ -407,6 +408,7 @@ public class Config extends ConfigSection {
         this.root.defaultComments.clear();
         this.root.defaults.clear();
 
+        markModified();
         return this;
     }
 
@@ -569,6 +571,8 @@ public class Config extends ConfigSection {
                 this.values.remove(key);
             }
         }
+
+        markModified();
     }
 
     @Override
@@ -38,6 +38,11 @@ public class ConfigSection extends MemoryConfiguration {
     boolean changed = false;
     final boolean isDefault;
     final Object lock = new Object();
+    /**
+     * Internal root state: bumped whenever a value or default is added, replaced or removed.
+     * Used by {@link ConfigSetting} to tell if its cached value is still valid.
+     */
+    volatile int modCount = 0;
 
     ConfigSection() {
         this.root = this;
@@ -76,6 +81,21 @@ public class ConfigSection extends MemoryConfiguration {
         }
     }
 
+    /**
+     * @return a counter that changes every time a value or default of this configuration changes
+     */
+    int getModCount() {
+        return this.root.modCount;
+    }
+
+    /**
+     * Invalidates everything that has been cached from the current configuration state. <br>
+     * Should be called while holding {@link #lock}.
+     */
+    void markModified() {
+        ++this.root.modCount;
+    }
+
     /**
      * Sets the character used to separate configuration nodes. <br>
      * IMPORTANT: Do not change this after loading or adding ConfigurationSections!
@@ -144,6 +164,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.defaults.put(this.fullPath + path, section);
+            markModified();
         }
 
         return section;
@@ -156,6 +177,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.defaults.put(this.fullPath + path, section);
+            markModified();
             this.root.defaultComments.put(this.fullPath + path, new Comment(comment));
         }
 
@@ -169,6 +191,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.defaults.put(this.fullPath + path, section);
+            markModified();
             this.root.defaultComments.put(this.fullPath + path, new Comment(commentStyle, comment));
         }
 
@@ -263,6 +286,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.defaults.put(this.fullPath + path, value);
+            markModified();
         }
     }
 
@@ -274,12 +298,14 @@ public class ConfigSection extends MemoryConfiguration {
 
     @Override
     public void setDefaults(Configuration cfg) {
-        if (this.fullPath.isEmpty()) {
-            this.root.defaults.clear();
-        } else {
-            this.root.defaults.keySet().stream()
-                    .filter(k -> k.startsWith(this.fullPath))
-                    .forEach(this.root.defaults::remove);
+        synchronized (this.root.lock) {
+            if (this.fullPath.isEmpty()) {
+                this.root.defaults.clear();
+            } else {
+                this.root.defaults.keySet().removeIf(k -> k.startsWith(this.fullPath));
+            }
+
+            markModified();
         }
 
         addDefaults(cfg);
@@ -472,6 +498,8 @@ public class ConfigSection extends MemoryConfiguration {
             } else {
                 this.root.changed |= (last = this.root.values.remove(this.fullPath + path)) != null;
             }
+
+            markModified();
         }
 
         if (last != value && last instanceof ConfigSection) {
@@ -482,6 +510,7 @@ public class ConfigSection extends MemoryConfiguration {
                         .filter(k -> k.startsWith(trim))
                         .collect(Collectors.toSet())
                         .forEach(this.root.values::remove);
+                markModified();
             }
         }
 
@@ -550,6 +579,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.values.put(this.fullPath + path, section);
+            markModified();
         }
 
         this.root.changed = true;
@@ -580,6 +610,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.values.put(this.fullPath + path, section);
+            markModified();
         }
 
         setComment(path, commentStyle, comment);
@@ -597,6 +628,7 @@ public class ConfigSection extends MemoryConfiguration {
 
         synchronized (this.root.lock) {
             this.root.values.put(this.fullPath + path, section);
+            markModified();
         }
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
@@ -10,9 +10,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 
+/**
+ * A single setting of a {@link Config}. <br>
+ * The value is resolved and converted once and then cached until the config is loaded or changed,
+ * so reading a setting in hot code paths does not have to look up the path every time.
+ */
 public class ConfigSetting {
     final Config config;
     final String key;
+    private volatile CachedValue cachedValue;
 
     public ConfigSetting(@NotNull Config config, @NotNull String key) {
         this.config = config;
@@ -47,47 +53,52 @@ public class ConfigSetting {
     }
 
     public boolean getBoolean() {
-        return this.config.getBoolean(this.key);
+        return getCachedValue().booleanValue;
     }
 
     public boolean getBoolean(boolean def) {
-        return this.config.getBoolean(this.key, def);
+        CachedValue cached = getCachedValue();
+        return cached.value instanceof Boolean ? cached.booleanValue : def;
     }
 
     public int getInt() {
-        return this.config.getInt(this.key);
+        return getCachedValue().intValue;
     }
 
     public int getInt(int def) {
-        return this.config.getInt(this.key, def);
+        CachedValue cached = getCachedValue();
+        return cached.value instanceof Number ? cached.intValue : def;
     }
 
     public long getLong() {
-        return this.config.getLong(this.key);
+        return getCachedValue().longValue;
     }
 
     public long getLong(long def) {
-        return this.config.getLong(this.key, def);
+        CachedValue cached = getCachedValue();
+        return cached.value instanceof Number ? cached.longValue : def;
     }
 
     public double getDouble() {
-        return this.config.getDouble(this.key);
+        return getCachedValue().doubleValue;
     }
 
     public double getDouble(double def) {
-        return this.config.getDouble(this.key, def);
+        CachedValue cached = getCachedValue();
+        return cached.value instanceof Number ? cached.doubleValue : def;
     }
 
     public String getString() {
-        return this.config.getString(this.key);
+        return getCachedValue().stringValue;
     }
 
     public String getString(String def) {
-        return this.config.getString(this.key, def);
+        CachedValue cached = getCachedValue();
+        return cached.stringValue != null ? cached.stringValue : def;
     }
 
     public Object getObject() {
-        return this.config.get(this.key);
+        return getCachedValue().value;
     }
 
     public Object getObject(Object def) {
@@ -103,7 +114,7 @@ public class ConfigSetting {
     }
 
     public char getChar() {
-        return this.config.getChar(this.key);
+        return getCachedValue().charValue;
     }
 
     public char getChar(char def) {
@@ -132,4 +143,45 @@ public class ConfigSetting {
         }
         return mat.orElse(def);
     }
+
+    /**
+     * @return the cached value of this setting, re-resolving it if the config has changed since it was cached
+     */
+    private CachedValue getCachedValue() {
+        CachedValue cached = this.cachedValue;
+        int modCount = this.config.getModCount();
+
+        if (cached == null || cached.modCount != modCount) {
+            cached = new CachedValue(modCount, this.config.get(this.key));
+            this.cachedValue = cached;
+        }
+
+        return cached;
+    }
+
+    /**
+     * Immutable snapshot of a setting's value, pre-converted to all primitive types
+     * using the same rules as {@link ConfigSection}.
+     */
+    private static final class CachedValue {
+        final int modCount;
+        final Object value;
+        final String stringValue;
+        final boolean booleanValue;
+        final int intValue;
+        final long longValue;
+        final double doubleValue;
+        final char charValue;
+
+        CachedValue(int modCount, Object value) {
+            this.modCount = modCount;
+            this.value = value;
+            this.stringValue = value != null ? value.toString() : null;
+            this.booleanValue = value instanceof Boolean && (Boolean) value;
+            this.intValue = value instanceof Number ? ((Number) value).intValue() : 0;
+            this.longValue = value instanceof Number ? ((Number) value).longValue() : 0;
+            this.doubleValue = value instanceof Number ? ((Number) value).doubleValue() : 0;
+            this.charValue = this.stringValue != null && !this.stringValue.isEmpty() ? this.stringValue.charAt(0) : '\0';
+        }
+    }
 }
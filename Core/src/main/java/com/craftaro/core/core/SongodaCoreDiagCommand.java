@@ -1,16 +1,24 @@
 package com.craftaro.core.core;
 
 import com.craftaro.core.SongodaCore;
+import com.craftaro.core.chat.AdventureUtils;
 import com.craftaro.core.commands.AbstractCommand;
 import com.craftaro.core.compatibility.ClassMapping;
 import com.craftaro.core.compatibility.ServerProject;
 import com.craftaro.core.compatibility.ServerVersion;
+import com.craftaro.core.gui.GuiMetrics;
+import com.craftaro.core.gui.GuiUtils;
+import com.google.common.cache.CacheStats;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 
 import java.lang.reflect.Field;
 import java.text.DecimalFormat;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public class SongodaCoreDiagCommand extends AbstractCommand {
     private final DecimalFormat decimalFormat = new DecimalFormat("##.##");
@@ -68,6 +76,9 @@ public class SongodaCoreDiagCommand extends AbstractCommand {
         sender.sendMessage("Allocated Memory: " + getRuntimeMaxMemory());
         sender.sendMessage("Online Players: " + Bukkit.getOnlinePlayers().size());
         sendCurrentTps(sender);
+        sendParseCacheStats(sender);
+        sendButtonCacheStats(sender);
+        sendGuiTimings(sender);
         sender.sendMessage("");
 
         return ReturnType.SUCCESS;
@@ -95,4 +106,50 @@ public class SongodaCoreDiagCommand extends AbstractCommand {
             ex.printStackTrace();
         }
     }
+
+    private void sendParseCacheStats(CommandSender receiver) {
+        CacheStats stats = AdventureUtils.getParseCacheStats();
+
+        receiver.sendMessage(String.format("Text parse cache: %s%% hit rate (%d hits, %d misses, %d evictions)",
+                this.decimalFormat.format(stats.hitRate() * 100), stats.hitCount(), stats.missCount(), stats.evictionCount()));
+    }
+
+    private void sendButtonCacheStats(CommandSender receiver) {
+        CacheStats stats = GuiUtils.getButtonCacheStats();
+
+        receiver.sendMessage(String.format("Button item cache: %s%% hit rate (%d hits, %d misses, %d evictions)",
+                this.decimalFormat.format(stats.hitRate() * 100), stats.hitCount(), stats.missCount(), stats.evictionCount()));
+    }
+
+    private void sendGuiTimings(CommandSender receiver) {
+        List<Map.Entry<String, GuiMetrics.Histogram>> timings = new ArrayList<>();
+        for (Map.Entry<String, GuiMetrics.Histogram[]> entry : GuiMetrics.getHistograms().entrySet()) {
+            for (GuiMetrics.Phase phase : GuiMetrics.Phase.values()) {
+                GuiMetrics.Histogram histogram = entry.getValue()[phase.ordinal()];
+
+                if (histogram != null && histogram.getCount() > 0) {
+                    timings.add(new AbstractMap.SimpleEntry<>(entry.getKey() + " " + phase.name().toLowerCase(), histogram));
+                }
+            }
+        }
+
+        if (timings.isEmpty()) {
+            return;
+        }
+
+        timings.sort(Comparator.comparingDouble((Map.Entry<String, GuiMetrics.Histogram> entry) -> entry.getValue().getPercentileMillis(.99))
+                .thenComparingDouble(entry -> entry.getValue().getMaxMillis())
+                .reversed());
+
+        receiver.sendMessage("Slowest GUIs (avg, p99, max):");
+        for (Map.Entry<String, GuiMetrics.Histogram> entry : timings.subList(0, Math.min(8, timings.size()))) {
+            GuiMetrics.Histogram histogram = entry.getValue();
+
+            receiver.sendMessage(String.format("  %s: %sms, %sms, %sms (%d samples)", entry.getKey(),
+                    this.decimalFormat.format(histogram.getAverageMillis()),
+                    this.decimalFormat.format(histogram.getPercentileMillis(.99)),
+                    this.decimalFormat.format(histogram.getMaxMillis()),
+                    histogram.getCount()));
+        }
+    }
 }
@@ -2,39 +2,62 @@ package com.craftaro.core.data.lazy;
 
 import java.util.function.Supplier;
 
+/**
+ * A value that is only computed by its supplier when it is needed for the first time. <br>
+ * Reading a loaded value does not lock, only the first {@link #get()} and changes synchronize.
+ */
 public class Lazy<T> {
-    private Supplier<T> supplier = null;
-    private T value = null;
+    /**
+     * Marks a value that still has to be loaded by the supplier, so null can be a loaded value
+     */
+    private static final Object UNLOADED = new Object();
 
-    public synchronized T get() {
-        if (this.value == null && this.supplier != null) {
-            this.value = this.supplier.get();
-            this.supplier = null;
+    private volatile Supplier<T> supplier = null;
+    private volatile Object value = null;
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object value = this.value;
+        if (value != UNLOADED) {
+            return (T) value;
+        }
+
+        synchronized (this) {
+            if (this.value == UNLOADED) {
+                T loadedValue = this.supplier.get();
+                this.supplier = null;
+                this.value = loadedValue;
+            }
+            return (T) this.value;
         }
-        return this.value;
     }
 
-    public synchronized T getOrDefault(T def) {
+    public T getOrDefault(T def) {
         T value = get();
         return value == null ? def : value;
     }
 
     public synchronized Lazy<T> reset() {
-        this.value = null;
-        return this;
+        return set((T) null);
     }
 
     public synchronized Lazy<T> set(T value) {
-        this.value = value;
+        this.value = value == null && this.supplier != null ? UNLOADED : value;
         return this;
     }
 
-    public Lazy<T> set(Supplier<T> supplier) {
+    public synchronized Lazy<T> set(Supplier<T> supplier) {
         this.supplier = supplier;
+
+        if (supplier != null && this.value == null) {
+            this.value = UNLOADED;
+        } else if (supplier == null && this.value == UNLOADED) {
+            this.value = null;
+        }
         return this;
     }
 
-    public synchronized boolean isLoaded() {
+    public boolean isLoaded() {
         return this.supplier != null;
     }
 
@@ -1,18 +1,42 @@
 package com.craftaro.core.data.lazy;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+/**
+ * A list whose elements can be added as suppliers, they are all loaded at once when the list is used for the first time. <br>
+ * Added suppliers are kept in an array until then. Loading many elements can run in parallel,
+ * see {@link #LazyList(List, boolean)}.
+ */
 public class LazyList<T> {
+    /**
+     * Fewer suppliers are always loaded on the calling thread
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
     private final List<T> list;
-    private List<Lazy<T>> lazyList;
+    private final boolean parallel;
+    private Supplier<T>[] suppliers;
+    private int supplierCount;
 
     public LazyList(List<T> list) {
-        this.list = list == null ? new LinkedList<>() : list;
-        this.lazyList = new LinkedList<>();
+        this(list, false);
+    }
+
+    /**
+     * @param list     the list to add the elements to, or null to create a new one
+     * @param parallel true to load many elements in parallel, only if the suppliers can be called from any thread
+     */
+    @SuppressWarnings("unchecked")
+    public LazyList(List<T> list, boolean parallel) {
+        this.list = list == null ? new ArrayList<>() : list;
+        this.parallel = parallel;
+        this.suppliers = new Supplier[8];
     }
 
     public List<T> getList() {
@@ -26,10 +50,13 @@ public class LazyList<T> {
     }
 
     public void add(Supplier<T> supplier) {
-        if (this.lazyList == null) {
+        if (this.suppliers == null) {
             this.list.add(supplier.get());
         } else if (supplier != null) {
-            this.lazyList.add(new Lazy<T>().set(supplier));
+            if (this.supplierCount == this.suppliers.length) {
+                this.suppliers = Arrays.copyOf(this.suppliers, this.supplierCount * 2);
+            }
+            this.suppliers[this.supplierCount++] = supplier;
         }
     }
 
@@ -47,26 +74,36 @@ public class LazyList<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private void loadList() {
-        if (this.lazyList == null) {
+        if (this.suppliers == null) {
             return;
         }
 
-        for (Lazy<T> lazy : this.lazyList) {
-            this.list.add(lazy.get());
+        Supplier<T>[] suppliers = this.suppliers;
+        Object[] values = new Object[this.supplierCount];
+
+        IntStream indices = IntStream.range(0, values.length);
+        if (this.parallel && values.length >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
         }
-        this.lazyList = null;
+        indices.forEach(i -> values[i] = suppliers[i].get());
+
+        this.list.addAll((List<T>) Arrays.asList(values));
+        this.suppliers = null;
+        this.supplierCount = 0;
     }
 
     public void clear() {
         this.list.clear();
-        this.lazyList.clear();
+
+        if (this.suppliers != null) {
+            Arrays.fill(this.suppliers, 0, this.supplierCount, null);
+            this.supplierCount = 0;
+        }
     }
 
     public boolean isEmpty() {
-        if (this.lazyList != null) {
-            return this.lazyList.isEmpty();
-        }
-        return this.list.isEmpty();
+        return this.list.isEmpty() && this.supplierCount == 0;
     }
 }
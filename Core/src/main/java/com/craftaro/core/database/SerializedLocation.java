@@ -1,12 +1,34 @@
 package com.craftaro.core.database;
 
+import com.craftaro.core.world.WorldRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Converts locations into maps for config files and into compact formats. <br>
+ * {@link #packBlock(int, int, int)} stores block coordinates in a single long, which together with
+ * the world id of {@link WorldRegistry} identifies a block without any objects.
+ * {@link #write(DataOutput, Location)} stores exact locations in a fixed binary layout.
+ */
 public class SerializedLocation {
+    private static final int BLOCK_XZ_BITS = 26;
+    private static final int BLOCK_Y_BITS = 12;
+    private static final long BLOCK_XZ_MASK = (1L << BLOCK_XZ_BITS) - 1;
+    private static final long BLOCK_Y_MASK = (1L << BLOCK_Y_BITS) - 1;
+
     private final String world;
     private final double x;
     private final double y;
@@ -50,6 +72,91 @@ public class SerializedLocation {
         return map;
     }
 
+    /**
+     * Packs block coordinates into a long, using the same layout as Minecraft:
+     * 26 bits for x and z (±33,554,431) and 12 bits for y (-2048 to 2047)
+     */
+    public static long packBlock(int x, int y, int z) {
+        return ((x & BLOCK_XZ_MASK) << (BLOCK_XZ_BITS + BLOCK_Y_BITS))
+                | ((z & BLOCK_XZ_MASK) << BLOCK_Y_BITS)
+                | (y & BLOCK_Y_MASK);
+    }
+
+    public static long packBlock(@NotNull Location location) {
+        return packBlock(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static int unpackBlockX(long packed) {
+        return (int) (packed >> (BLOCK_XZ_BITS + BLOCK_Y_BITS));
+    }
+
+    public static int unpackBlockY(long packed) {
+        return (int) (packed << (64 - BLOCK_Y_BITS) >> (64 - BLOCK_Y_BITS));
+    }
+
+    public static int unpackBlockZ(long packed) {
+        return (int) (packed << BLOCK_XZ_BITS >> (BLOCK_XZ_BITS + BLOCK_Y_BITS));
+    }
+
+    public static @NotNull Location unpackBlock(@Nullable World world, long packed) {
+        return new Location(world, unpackBlockX(packed), unpackBlockY(packed), unpackBlockZ(packed));
+    }
+
+    /**
+     * Writes a location in a fixed layout: world name (modified UTF-8), x, y and z as doubles, yaw and pitch as floats
+     *
+     * @param out      the output to write to
+     * @param location the location to write, its world has to be set
+     *
+     * @throws IOException if the output could not be written to
+     */
+    public static void write(@NotNull DataOutput out, @NotNull Location location) throws IOException {
+        out.writeUTF(location.getWorld().getName());
+        out.writeDouble(location.getX());
+        out.writeDouble(location.getY());
+        out.writeDouble(location.getZ());
+        out.writeFloat(location.getYaw());
+        out.writeFloat(location.getPitch());
+    }
+
+    /**
+     * Reads a location written by {@link #write(DataOutput, Location)}
+     *
+     * @return the location, its world is null if the world is not loaded
+     *
+     * @throws IOException if the input could not be read
+     */
+    public static @NotNull Location read(@NotNull DataInput in) throws IOException {
+        World world = WorldRegistry.getWorld(in.readUTF());
+        return new Location(world, in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+    }
+
+    public static byte[] toBytes(@NotNull Location location) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, location);
+        } catch (IOException ex) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the location, or null if the data could not be read
+     */
+    public static @Nullable Location fromBytes(byte[] data) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
     public Location asLocation() {
         return new Location(Bukkit.getWorld(this.world), this.x, this.y, this.z, this.yaw, this.pitch);
     }
@@ -0,0 +1,127 @@
+package com.craftaro.core.gui;
+
+import com.cryptomorin.xseries.XMaterial;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A button item with placeholders for the parts that change, e.g. a price or an amount. <br>
+ * Everything without placeholders is built once, creating a button only copies the
+ * prepared item and fills in the lines that contain placeholders.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * ButtonTemplate template = new ButtonTemplate(XMaterial.EMERALD, 1, "&aBuy %item%",
+ *         Arrays.asList("&7Price: &e%price%", "&7Click to buy"), "%item%", "%price%");
+ *
+ * ItemStack button = template.create("Diamond", 100);
+ * }</pre>
+ */
+public final class ButtonTemplate {
+    private final String[] placeholders;
+    private final ItemStack base;
+    private final String title;
+    private final boolean dynamicTitle;
+    /**
+     * The lore by line, either already wrapped by {@link GuiUtils#getSafeLore(List)} or null if the line contains placeholders
+     */
+    private final List<List<String>> staticLore;
+    private final List<String> lore;
+    private final boolean dynamicLore;
+
+    /**
+     * @param material     the material of the button
+     * @param amount       the amount of the button
+     * @param title        the display name, may contain placeholders
+     * @param lore         the lore, may contain placeholders
+     * @param placeholders the placeholders used in title and lore, including prefix and suffix (e.g. {@code %price%})
+     */
+    public ButtonTemplate(@NotNull XMaterial material, int amount, @Nullable String title, @Nullable List<String> lore, @NotNull String... placeholders) {
+        this.placeholders = placeholders.clone();
+        this.title = title;
+        this.dynamicTitle = containsPlaceholder(title);
+        this.lore = lore == null ? Collections.emptyList() : new ArrayList<>(lore);
+
+        List<List<String>> staticLore = new ArrayList<>(this.lore.size());
+        boolean dynamicLore = false;
+        for (String line : this.lore) {
+            if (containsPlaceholder(line)) {
+                staticLore.add(null);
+                dynamicLore = true;
+            } else {
+                staticLore.add(GuiUtils.getSafeLore(line));
+            }
+        }
+        this.staticLore = staticLore;
+        this.dynamicLore = dynamicLore;
+
+        this.base = GuiUtils.createButtonItem(material, amount, this.dynamicTitle ? null : title, this.dynamicLore ? null : this.lore);
+    }
+
+    /**
+     * Create a new button item
+     *
+     * @param values the replacement for each placeholder, in the order the placeholders were given to the constructor
+     *
+     * @return a new item that can be modified freely
+     */
+    @NotNull
+    public ItemStack create(@NotNull Object... values) {
+        ItemStack item = this.base.clone();
+
+        if (!this.dynamicTitle && !this.dynamicLore) {
+            return item;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+
+        if (this.dynamicTitle) {
+            meta.setDisplayName(replace(this.title, values));
+        }
+
+        if (this.dynamicLore) {
+            List<String> lore = new ArrayList<>();
+            for (int i = 0; i < this.lore.size(); ++i) {
+                List<String> wrapped = this.staticLore.get(i);
+                lore.addAll(wrapped != null ? wrapped : GuiUtils.getSafeLore(replace(this.lore.get(i), values)));
+            }
+            meta.setLore(lore);
+        }
+
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private boolean containsPlaceholder(String text) {
+        if (text == null) {
+            return false;
+        }
+
+        for (String placeholder : this.placeholders) {
+            if (text.contains(placeholder)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String replace(String text, Object[] values) {
+        for (int i = 0; i < this.placeholders.length && i < values.length; ++i) {
+            if (text.contains(this.placeholders[i])) {
+                text = text.replace(this.placeholders[i], String.valueOf(values[i]));
+            }
+        }
+
+        return text;
+    }
+}
@@ -0,0 +1,264 @@
+package com.craftaro.core.gui;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Internal map from a GUI cell to a value, backed by a flat array for the cells of an inventory. <br>
+ * Cells outside of that range (e.g. negative cells or cells of later pages) are kept in a regular map. <br>
+ * Null values are supported and distinguished from absent cells, like they are in a {@link HashMap}.
+ */
+class CellMap<V> extends AbstractMap<Integer, V> {
+    /**
+     * Largest cell that is stored in the array (a double chest plus the player's inventory)
+     */
+    static final int MAX_ARRAY_CELLS = 54 + 36;
+
+    private Object[] values = new Object[27];
+    private final BitSet present = new BitSet(27);
+    private Map<Integer, V> overflow;
+    private int size;
+    private int modCount;
+
+    public V get(int cell) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            return cell < this.values.length ? castValue(this.values[cell]) : null;
+        }
+
+        return this.overflow != null ? this.overflow.get(cell) : null;
+    }
+
+    public boolean containsKey(int cell) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            return this.present.get(cell);
+        }
+
+        return this.overflow != null && this.overflow.containsKey(cell);
+    }
+
+    public V put(int cell, V value) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            if (cell >= this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.min(MAX_ARRAY_CELLS, Math.max(cell + 1, this.values.length * 2)));
+            }
+
+            V previous = castValue(this.values[cell]);
+            this.values[cell] = value;
+            if (!this.present.get(cell)) {
+                this.present.set(cell);
+                ++this.size;
+                ++this.modCount;
+            }
+            return previous;
+        }
+
+        if (this.overflow == null) {
+            this.overflow = new HashMap<>();
+        }
+
+        int overflowSize = this.overflow.size();
+        V previous = this.overflow.put(cell, value);
+        if (this.overflow.size() != overflowSize) {
+            ++this.size;
+            ++this.modCount;
+        }
+        return previous;
+    }
+
+    public V remove(int cell) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            if (!this.present.get(cell)) {
+                return null;
+            }
+
+            V previous = castValue(this.values[cell]);
+            this.values[cell] = null;
+            this.present.clear(cell);
+            --this.size;
+            ++this.modCount;
+            return previous;
+        }
+
+        if (this.overflow == null || !this.overflow.containsKey(cell)) {
+            return null;
+        }
+
+        --this.size;
+        ++this.modCount;
+        return this.overflow.remove(cell);
+    }
+
+    public V getOrDefault(int cell, V defaultValue) {
+        V value = get(cell);
+        return value != null || containsKey(cell) ? value : defaultValue;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        return key instanceof Integer ? getOrDefault((int) (Integer) key, defaultValue) : defaultValue;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.present.clear();
+        this.overflow = null;
+        this.size = 0;
+        ++this.modCount;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CellMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                CellMap.this.clear();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V castValue(Object value) {
+        return (V) value;
+    }
+
+    private class EntryIterator implements Iterator<Entry<Integer, V>> {
+        private int nextCell = CellMap.this.present.nextSetBit(0);
+        private final Iterator<Entry<Integer, V>> overflowIterator = CellMap.this.overflow != null ? CellMap.this.overflow.entrySet().iterator() : null;
+        private int lastCell;
+        private boolean lastFromOverflow;
+        private boolean canRemove;
+        private int expectedModCount = CellMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.nextCell != -1 || (this.overflowIterator != null && this.overflowIterator.hasNext());
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (CellMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (this.nextCell != -1) {
+                int cell = this.lastCell = this.nextCell;
+                this.lastFromOverflow = false;
+                this.canRemove = true;
+                this.nextCell = CellMap.this.present.nextSetBit(cell + 1);
+                return new CellEntry(cell);
+            }
+
+            if (this.overflowIterator == null) {
+                throw new NoSuchElementException();
+            }
+
+            Entry<Integer, V> entry = this.overflowIterator.next();
+            this.lastCell = entry.getKey();
+            this.lastFromOverflow = true;
+            this.canRemove = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!this.canRemove) {
+                throw new IllegalStateException();
+            }
+
+            if (this.lastFromOverflow) {
+                this.overflowIterator.remove();
+                --CellMap.this.size;
+                ++CellMap.this.modCount;
+            } else {
+                CellMap.this.remove(this.lastCell);
+            }
+
+            this.expectedModCount = CellMap.this.modCount;
+            this.canRemove = false;
+        }
+    }
+
+    private class CellEntry implements Entry<Integer, V> {
+        private final int cell;
+
+        CellEntry(int cell) {
+            this.cell = cell;
+        }
+
+        @Override
+        public Integer getKey() {
+            return this.cell;
+        }
+
+        @Override
+        public V getValue() {
+            return CellMap.this.get(this.cell);
+        }
+
+        @Override
+        public V setValue(V value) {
+            return CellMap.this.put(this.cell, value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+
+            Entry<?, ?> other = (Entry<?, ?>) obj;
+            V value = getValue();
+            return getKey().equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            V value = getValue();
+            return this.cell ^ (value == null ? 0 : value.hashCode());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.craftaro.core.gui;
+
+import com.craftaro.core.gui.methods.Clickable;
+import org.bukkit.event.inventory.ClickType;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Internal map from a click type to the action of a GUI cell, backed by an array indexed by the click type's ordinal. <br>
+ * The {@code null} key is the action for any click type without its own action.
+ */
+class ClickActionMap extends AbstractMap<ClickType, Clickable> {
+    private static final ClickType[] CLICK_TYPES = ClickType.values();
+
+    private final Clickable[] actions = new Clickable[CLICK_TYPES.length + 1];
+    private final boolean[] present = new boolean[CLICK_TYPES.length + 1];
+    private int size;
+
+    private static int index(ClickType type) {
+        return type == null ? 0 : type.ordinal() + 1;
+    }
+
+    /**
+     * Get the action for a click, falling back to the action for any click type
+     *
+     * @param type the type of the click
+     *
+     * @return the action to run or null if there is none
+     */
+    public Clickable getAction(ClickType type) {
+        Clickable action = this.actions[index(type)];
+        return action != null ? action : this.actions[0];
+    }
+
+    @Override
+    public Clickable get(Object key) {
+        return key == null || key instanceof ClickType ? this.actions[index((ClickType) key)] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (key == null || key instanceof ClickType) && this.present[index((ClickType) key)];
+    }
+
+    @Override
+    public Clickable put(ClickType key, Clickable value) {
+        int index = index(key);
+        Clickable previous = this.actions[index];
+
+        this.actions[index] = value;
+        if (!this.present[index]) {
+            this.present[index] = true;
+            ++this.size;
+        }
+
+        return previous;
+    }
+
+    @Override
+    public Clickable remove(Object key) {
+        if (key != null && !(key instanceof ClickType)) {
+            return null;
+        }
+
+        int index = index((ClickType) key);
+        Clickable previous = this.actions[index];
+        if (this.present[index]) {
+            this.actions[index] = null;
+            this.present[index] = false;
+            --this.size;
+        }
+
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Set<Entry<ClickType, Clickable>> entrySet() {
+        return new AbstractSet<Entry<ClickType, Clickable>>() {
+            @Override
+            public Iterator<Entry<ClickType, Clickable>> iterator() {
+                return new Iterator<Entry<ClickType, Clickable>>() {
+                    private int next = nextPresent(0);
+                    private int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next != -1;
+                    }
+
+                    @Override
+                    public Entry<ClickType, Clickable> next() {
+                        if (this.next == -1) {
+                            throw new NoSuchElementException();
+                        }
+
+                        this.last = this.next;
+                        this.next = nextPresent(this.next + 1);
+                        return new SimpleEntry<>(this.last == 0 ? null : CLICK_TYPES[this.last - 1], ClickActionMap.this.actions[this.last]);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (this.last == -1) {
+                            throw new IllegalStateException();
+                        }
+
+                        ClickActionMap.this.remove(this.last == 0 ? null : CLICK_TYPES[this.last - 1]);
+                        this.last = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ClickActionMap.this.size;
+            }
+        };
+    }
+
+    private int nextPresent(int from) {
+        for (int i = from; i < this.present.length; ++i) {
+            if (this.present[i]) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.craftaro.core.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Internal per-player click limiter for the locked cells of the GUIs of a {@link GuiManager}. <br>
+ * Within a time window, repeated clicks of the same type on the same slot are dropped
+ * and, if configured, any clicks above a maximum number. Only used from the main thread.
+ */
+class ClickThrottle {
+    private final Map<UUID, State> states = new HashMap<>();
+    long defaultWindow = 0;
+    int defaultMaxClicks = 0;
+    long processedClicks;
+    long droppedClicks;
+
+    /**
+     * Record a click
+     *
+     * @return false if the click should be dropped
+     */
+    boolean tryClick(Player player, Gui gui, int slot, ClickType type) {
+        final long window = gui.clickWindow >= 0 ? gui.clickWindow : this.defaultWindow;
+        final int maxClicks = gui.clickWindow >= 0 ? gui.maxClicksPerWindow : this.defaultMaxClicks;
+
+        if (window <= 0) {
+            ++this.processedClicks;
+            return true;
+        }
+
+        final long now = System.currentTimeMillis();
+        State state = this.states.computeIfAbsent(player.getUniqueId(), k -> new State());
+
+        if (state.gui != gui || now - state.windowStart >= window) {
+            state.gui = gui;
+            state.windowStart = now;
+            state.clicks = 0;
+            state.lastSlot = Integer.MIN_VALUE;
+            state.lastType = null;
+        }
+
+        if ((state.lastSlot == slot && state.lastType == type) || (maxClicks > 0 && state.clicks >= maxClicks)) {
+            ++this.droppedClicks;
+            return false;
+        }
+
+        ++state.clicks;
+        state.lastSlot = slot;
+        state.lastType = type;
+        ++this.processedClicks;
+        return true;
+    }
+
+    void remove(Player player) {
+        this.states.remove(player.getUniqueId());
+    }
+
+    void clear() {
+        this.states.clear();
+    }
+
+    private static final class State {
+        Gui gui;
+        long windowStart;
+        int clicks;
+        int lastSlot;
+        ClickType lastType;
+    }
+}
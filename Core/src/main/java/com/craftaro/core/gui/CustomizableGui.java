@@ -21,16 +21,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class CustomizableGui extends Gui {
     private static boolean showGuiKeys = false;
     private int activationCount = 0;
 
-    private static final Map<String, CustomContent> LOADED_GUIS = new HashMap<>();
+    private static final Map<String, CustomContent> LOADED_GUIS = new ConcurrentHashMap<>();
     private final CustomContent customContent;
+    /**
+     * This GUI's copies of the custom items from {@link CustomContent#getLayout(int, int)}, indexed by cell
+     */
+    private ItemStack[] customItems;
 
     public CustomizableGui(Plugin plugin, String guiKey) {
         this(plugin, guiKey, null);
@@ -39,80 +46,16 @@ public class CustomizableGui extends Gui {
     public CustomizableGui(@NotNull Plugin plugin, @NotNull String guiKey, @Nullable Gui parent) {
         super(parent);
 
-        if (!LOADED_GUIS.containsKey(guiKey) || showGuiKeys) {
-            File localeFolder = new File(plugin.getDataFolder(), "gui/");
-            if (!localeFolder.exists()) {
-                localeFolder.mkdir();
-            }
-
-            Config config = new Config(plugin, "gui/" + guiKey + ".yml");
-            config.load();
-
-            if (!config.isConfigurationSection("overrides")) {
-                config.setDefault("overrides.example.item", XMaterial.STONE.name(),
-                                "This is the icon material you would like to replace",
-                                "the current material with.")
-                        .setDefault("overrides.example.position", 5,
-                                "This is the current position of the icon you would like to move.",
-                                "The number represents the cell the icon currently resides in.")
-                        .setDefaultComment("overrides.example",
-                                "This is just an example and does not override to any items",
-                                "in this GUI.")
-                        .setDefaultComment("overrides",
-                                "For information on how to apply overrides please visit",
-                                "https://wiki.craftaro.com/index.php/Gui");
-
-                config.saveChanges();
-            }
-
-            if (!config.isConfigurationSection("disabled")) {
-                config.setDefault("disabled", Arrays.asList("example3", "example4", "example5"),
-                        "All keys on this list will be disabled. You can add any items key here",
-                        "if you no longer want that item in the GUI.");
-
-                config.saveChanges();
-            }
-
-            CustomContent customContent = LOADED_GUIS.computeIfAbsent(guiKey, g -> new CustomContent(guiKey));
+        // while gui keys are shown, the overrides are read again every time so changes can be previewed
+        CustomContent customContent = showGuiKeys ? null : LOADED_GUIS.get(guiKey);
+        if (customContent == null) {
+            customContent = loadCustomContent(plugin, guiKey);
             LOADED_GUIS.put(guiKey, customContent);
-            this.customContent = customContent;
-
-            int rows = config.getInt("overrides.__ROWS__", -1);
-            if (rows != -1) {
-                customContent.setRows(rows);
-            }
-
-            for (ConfigSection section : config.getSections("overrides")) {
-                if (section.contains("row") ||
-                        section.contains("col") ||
-                        section.contains("mirrorrow") ||
-                        section.contains("mirrorcol")) {
-                    if (section.contains("mirrorrow") || section.contains("mirrorcol")) {
-                        customContent.addButton(section.getNodeKey(), section.getInt("row", -1),
-                                section.getInt("col", -1),
-                                section.getBoolean("mirrorrow", false),
-                                section.getBoolean("mirrorcol", false),
-                                section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
-                    } else {
-                        customContent.addButton(section.getNodeKey(), section.getInt("row", -1),
-                                section.getInt("col", -1),
-                                section.getString("title", null),
-                                section.isSet("lore") ? section.getStringList("lore") : null,
-                                section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
-                    }
-                } else {
-                    customContent.addButton(section.getNodeKey(), section.getString("position", "-1"),
-                            section.getString("title", null),
-                            section.isSet("lore") ? section.getStringList("lore") : null,
-                            section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
-                }
-            }
+        }
+        this.customContent = customContent;
 
-            for (String disabled : config.getStringList("disabled")) {
-                customContent.disableButton(disabled);
-            }
-        } else {
-            this.customContent = LOADED_GUIS.get(guiKey);
+        if (customContent.getTitle() != null) {
+            this.title = customContent.getTitle();
         }
 
         setPrivateDefaultAction(event -> {
@@ -133,6 +76,88 @@ public class CustomizableGui extends Gui {
         }
     }
 
+    /**
+     * Read the overrides of a GUI and compile them, so they don't have to be processed again when rendering
+     */
+    private static CustomContent loadCustomContent(Plugin plugin, String guiKey) {
+        File localeFolder = new File(plugin.getDataFolder(), "gui/");
+        if (!localeFolder.exists()) {
+            localeFolder.mkdir();
+        }
+
+        Config config = new Config(plugin, "gui/" + guiKey + ".yml");
+        config.load();
+
+        if (!config.isConfigurationSection("overrides")) {
+            config.setDefault("overrides.example.item", XMaterial.STONE.name(),
+                            "This is the icon material you would like to replace",
+                            "the current material with.")
+                    .setDefault("overrides.example.position", 5,
+                            "This is the current position of the icon you would like to move.",
+                            "The number represents the cell the icon currently resides in.")
+                    .setDefaultComment("overrides.example",
+                            "This is just an example and does not override to any items",
+                            "in this GUI.")
+                    .setDefaultComment("overrides",
+                            "For information on how to apply overrides please visit",
+                            "https://wiki.craftaro.com/index.php/Gui");
+
+            config.saveChanges();
+        }
+
+        if (!config.isConfigurationSection("disabled")) {
+            config.setDefault("disabled", Arrays.asList("example3", "example4", "example5"),
+                    "All keys on this list will be disabled. You can add any items key here",
+                    "if you no longer want that item in the GUI.");
+
+            config.saveChanges();
+        }
+
+        CustomContent customContent = new CustomContent(guiKey);
+
+        int rows = config.getInt("overrides.__ROWS__", -1);
+        if (rows != -1) {
+            customContent.setRows(rows);
+        }
+
+        String title = config.getString("overrides.__TITLE__", null);
+        if (title != null) {
+            customContent.setTitle(TextUtils.formatText(title));
+        }
+
+        for (ConfigSection section : config.getSections("overrides")) {
+            if (section.contains("row") ||
+                    section.contains("col") ||
+                    section.contains("mirrorrow") ||
+                    section.contains("mirrorcol")) {
+                if (section.contains("mirrorrow") || section.contains("mirrorcol")) {
+                    customContent.addButton(section.getNodeKey(), section.getInt("row", -1),
+                            section.getInt("col", -1),
+                            section.getBoolean("mirrorrow", false),
+                            section.getBoolean("mirrorcol", false),
+                            section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
+                } else {
+                    customContent.addButton(section.getNodeKey(), section.getInt("row", -1),
+                            section.getInt("col", -1),
+                            section.getString("title", null),
+                            section.isSet("lore") ? section.getStringList("lore") : null,
+                            section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
+                }
+            } else {
+                customContent.addButton(section.getNodeKey(), section.getString("position", "-1"),
+                        section.getString("title", null),
+                        section.isSet("lore") ? section.getStringList("lore") : null,
+                        section.isSet("item") ? CompatibleMaterial.getMaterial(section.getString("item")).get() : null);
+            }
+        }
+
+        for (String disabled : config.getStringList("disabled")) {
+            customContent.disableButton(disabled);
+        }
+
+        return customContent;
+    }
+
     @NotNull
     public Gui setRows(int rows) {
         int customRows = this.customContent.getRows();
@@ -148,11 +173,49 @@ public class CustomizableGui extends Gui {
     }
 
     public void update() {
-        applyCustomItems();
-        super.update();
+        final long start = startUpdateTiming();
+        try {
+            applyCustomItems();
+            super.update();
+        } finally {
+            stopUpdateTiming(start);
+        }
+    }
+
+    @NotNull
+    @Override
+    protected String getMetricsName() {
+        return super.getMetricsName() + "[" + this.customContent.getGuiKey() + "]";
     }
 
     private void applyCustomItems() {
+        if (showGuiKeys) {
+            // the keys are added to each item, so the compiled layout can't be used
+            applyCustomItemsWithKeys();
+            return;
+        }
+
+        ItemStack[] layout = this.customContent.getLayout(this.rows, this.inventoryType.columns);
+        if (this.customItems == null || this.customItems.length != layout.length) {
+            this.customItems = new ItemStack[layout.length];
+        }
+
+        for (int cell = 0; cell < layout.length; ++cell) {
+            if (layout[cell] == null) {
+                continue;
+            }
+
+            // only (re)place items that have not been placed yet or have been replaced since
+            ItemStack item = this.customItems[cell];
+            if (item == null || this.cellItems.get(cell) != item) {
+                item = layout[cell].clone();
+                this.customItems[cell] = item;
+                setItem(cell, item);
+            }
+        }
+    }
+
+    private void applyCustomItemsWithKeys() {
         for (CustomButton customButton : this.customContent.getCustomButtons().values()) {
             if (customButton instanceof MirrorFill) {
                 applyCustomItem(customButton);
@@ -182,6 +245,14 @@ public class CustomizableGui extends Gui {
         }
     }
 
+    @NotNull
+    @Override
+    public Gui setTitle(String title) {
+        String customTitle = this.customContent.getTitle();
+
+        return super.setTitle(customTitle != null ? customTitle : title);
+    }
+
     @NotNull
     public Gui setDefaultItem(@Nullable ItemStack item) {
         if (item == null) {
@@ -209,7 +280,7 @@ public class CustomizableGui extends Gui {
 
         if (this.customContent.isButtonCustomized(key)) {
             CustomButton btn = this.customContent.getCustomizedButton(key);
-            cells = btn.applyPosition(cell);
+            cells = btn.applyPosition(cell, this.inventoryType.columns);
             btn.applyItem(item);
         }
 
@@ -263,7 +334,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -293,7 +364,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -332,7 +403,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -360,7 +431,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -388,7 +459,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -436,7 +507,7 @@ public class CustomizableGui extends Gui {
         lore = applyShowGuiKeys(key, lore);
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -464,7 +535,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -492,7 +563,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -520,7 +591,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -548,7 +619,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -611,7 +682,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -642,7 +713,7 @@ public class CustomizableGui extends Gui {
 
         if (this.customContent.isButtonCustomized(key)) {
             CustomButton btn = this.customContent.getCustomizedButton(key);
-            cells = btn.applyPosition(cell);
+            cells = btn.applyPosition(cell, this.inventoryType.columns);
             btn.applyItem(item);
         }
 
@@ -675,7 +746,7 @@ public class CustomizableGui extends Gui {
 
         if (this.customContent.isButtonCustomized(key)) {
             CustomButton btn = this.customContent.getCustomizedButton(key);
-            cells = btn.applyPosition(cell);
+            cells = btn.applyPosition(cell, this.inventoryType.columns);
             btn.applyItem(item);
         }
 
@@ -703,7 +774,7 @@ public class CustomizableGui extends Gui {
         }
 
         if (this.customContent.isButtonCustomized(key)) {
-            cells = this.customContent.getCustomizedButton(key).applyPosition(cell);
+            cells = this.customContent.getCustomizedButton(key).applyPosition(cell, this.inventoryType.columns);
         }
 
         for (int c : cells) {
@@ -739,7 +810,7 @@ public class CustomizableGui extends Gui {
 
         if (this.customContent.isButtonCustomized("__NEXT__")) {
             CustomButton btn = this.customContent.getCustomizedButton("__NEXT__");
-            cells = btn.applyPosition(cell);
+            cells = btn.applyPosition(cell, this.inventoryType.columns);
             btn.applyItem(item);
         }
 
@@ -765,7 +836,7 @@ public class CustomizableGui extends Gui {
 
         if (this.customContent.isButtonCustomized("__PREV__")) {
             CustomButton btn = this.customContent.getCustomizedButton("__PREV__");
-            cells = btn.applyPosition(cell);
+            cells = btn.applyPosition(cell, this.inventoryType.columns);
             btn.applyItem(item);
         }
 
@@ -816,7 +887,7 @@ public class CustomizableGui extends Gui {
         return newLore;
     }
 
-    private class CustomButton {
+    private static class CustomButton {
         private final String key;
 
         private final List<Integer> positions;
@@ -825,6 +896,8 @@ public class CustomizableGui extends Gui {
 
         private final String title;
         private final List<String> lore;
+        private final String formattedTitle;
+        private final List<String> formattedLore;
 
         private final XMaterial item;
 
@@ -836,6 +909,8 @@ public class CustomizableGui extends Gui {
             this.item = item;
             this.title = title;
             this.lore = lore;
+            this.formattedTitle = title == null ? null : TextUtils.formatText(title);
+            this.formattedLore = lore == null ? null : TextUtils.formatText(lore);
         }
 
         public CustomButton(String key, int row, int col, String title, List<String> lore, XMaterial item) {
@@ -846,6 +921,8 @@ public class CustomizableGui extends Gui {
             this.item = item;
             this.title = title;
             this.lore = lore;
+            this.formattedTitle = title == null ? null : TextUtils.formatText(title);
+            this.formattedLore = lore == null ? null : TextUtils.formatText(lore);
         }
 
         public String getKey() {
@@ -878,20 +955,20 @@ public class CustomizableGui extends Gui {
         private void applyMeta(ItemStack item) {
             ItemMeta meta = item.getItemMeta();
 
-            if (this.title != null) {
-                meta.setDisplayName(TextUtils.formatText(this.title));
+            if (this.formattedTitle != null) {
+                meta.setDisplayName(this.formattedTitle);
             }
 
-            if (this.lore != null) {
-                meta.setLore(TextUtils.formatText(this.lore));
+            if (this.formattedLore != null) {
+                meta.setLore(this.formattedLore);
             }
 
             item.setItemMeta(meta);
         }
 
-        public List<Integer> applyPosition(int cell) {
+        public List<Integer> applyPosition(int cell, int columns) {
             if (this.row != -1 && this.col != -1) {
-                return Collections.singletonList(this.col + this.row * CustomizableGui.this.inventoryType.columns);
+                return Collections.singletonList(this.col + this.row * columns);
             }
 
             return this.positions == null ? Collections.singletonList(cell) : this.positions;
@@ -906,7 +983,7 @@ public class CustomizableGui extends Gui {
         }
     }
 
-    private class MirrorFill extends CustomButton {
+    private static class MirrorFill extends CustomButton {
         private final boolean mirrorRow;
         private final boolean mirrorCol;
 
@@ -926,13 +1003,15 @@ public class CustomizableGui extends Gui {
         }
     }
 
-    private class CustomContent {
+    private static class CustomContent {
         private final String guiKey;
         private final Map<String, CustomButton> customizedButtons = new HashMap<>();
         private final Map<String, CustomButton> customButtons = new HashMap<>();
-        private final List<String> disabledButtons = new ArrayList<>();
+        private final Set<String> disabledButtons = new HashSet<>();
+        private final Map<Integer, ItemStack[]> layouts = new ConcurrentHashMap<>();
 
         private int rows = -1;
+        private String title;
 
         public CustomContent(String guiKey) {
             this.guiKey = guiKey;
@@ -1010,5 +1089,84 @@ public class CustomizableGui extends Gui {
         public void setRows(int rows) {
             this.rows = rows;
         }
+
+        public String getTitle() {
+            return this.title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        /**
+         * Get the items of all enabled custom buttons by cell, created once for each inventory size
+         *
+         * @param rows    the rows of the inventory
+         * @param columns the columns of the inventory
+         *
+         * @return the items by cell, null for cells without a custom item. The items must not be modified.
+         */
+        public ItemStack[] getLayout(int rows, int columns) {
+            return this.layouts.computeIfAbsent((rows << 8) | columns, k -> compileLayout(rows, columns));
+        }
+
+        private ItemStack[] compileLayout(int rows, int columns) {
+            ItemStack[] layout = new ItemStack[rows * columns];
+
+            // mirror fills first, so other buttons are placed on top of them
+            for (CustomButton button : this.customButtons.values()) {
+                if (button instanceof MirrorFill && !isButtonDisabled(button.key)) {
+                    compileButton(layout, (MirrorFill) button, rows, columns);
+                }
+            }
+
+            for (CustomButton button : this.customButtons.values()) {
+                if (!(button instanceof MirrorFill) && !isButtonDisabled(button.key)) {
+                    compileButton(layout, button, rows, columns);
+                }
+            }
+
+            return layout;
+        }
+
+        private void compileButton(ItemStack[] layout, MirrorFill button, int rows, int columns) {
+            if (button.row == -1 || button.col == -1) {
+                return;
+            }
+
+            ItemStack item = button.createItem();
+            setLayoutItem(layout, button.col + button.row * columns, item);
+
+            if (button.mirrorRow) {
+                setLayoutItem(layout, button.col + (rows - button.row - 1) * columns, item);
+            }
+
+            if (button.mirrorCol) {
+                setLayoutItem(layout, (8 - button.col) + button.row * columns, item);
+            }
+
+            if (button.mirrorRow && button.mirrorCol) {
+                setLayoutItem(layout, (8 - button.col) + (rows - button.row - 1) * columns, item);
+            }
+        }
+
+        private void compileButton(ItemStack[] layout, CustomButton button, int rows, int columns) {
+            ItemStack item = button.createItem();
+
+            if (button.row != -1 && button.col != -1) {
+                setLayoutItem(layout, button.col + button.row * columns, item);
+                return;
+            }
+
+            for (Integer position : button.positions) {
+                setLayoutItem(layout, position, item);
+            }
+        }
+
+        private static void setLayoutItem(ItemStack[] layout, int cell, ItemStack item) {
+            if (cell >= 0 && cell < layout.length) {
+                layout[cell] = item;
+            }
+        }
     }
 }
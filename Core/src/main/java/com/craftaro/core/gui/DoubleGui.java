@@ -291,18 +291,16 @@ public class DoubleGui extends Gui {
     @Override
     protected boolean onClickPlayerInventory(@NotNull GuiManager manager, @NotNull Player player, @NotNull Inventory openInv, InventoryClickEvent event) {
         final int cell = event.getSlot(), offsetCell = clickOffset(cell);
-        Map<ClickType, Clickable> conditionals = this.conditionalButtons.get(offsetCell);
-        Clickable button;
+        Clickable button = getClickAction(offsetCell, event.getClick());
 
-        if (conditionals != null
-                && ((button = conditionals.get(event.getClick())) != null || (button = conditionals.get(null)) != null)) {
+        if (button != null) {
             button.onClick(new GuiClickEvent(manager, this, player, event, cell, true));
         } else {
             // no event for this button
             return false;
         }
 
-        event.setCancelled(this.unlockedCells.entrySet().stream().noneMatch(e -> offsetCell == e.getKey() && e.getValue()));
+        event.setCancelled(!isUnlocked(offsetCell));
 
         return true;
     }
@@ -27,14 +27,15 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * TODO: animated buttons
+ * Base class for all GUIs. <br>
+ * Cells can be animated with {@link #setAnimation(int, int, ItemStack...)}, which are advanced by the {@link GuiManager} while the GUI is open.
  */
 public class Gui {
     protected Inventory inventory;
@@ -44,15 +45,30 @@ public class Gui {
     protected boolean acceptsItems = false;
     protected boolean allowDropItems = true;
     protected boolean allowClose = true;
-    protected final Map<Integer, Boolean> unlockedCells = new HashMap<>();
-    protected final Map<Integer, ItemStack> cellItems = new HashMap<>();
-    protected final Map<Integer, Map<ClickType, Clickable>> conditionalButtons = new HashMap<>();
+    private final UnlockedCellMap unlockedCellMap = new UnlockedCellMap();
+    private final CellMap<ItemStack> cellItemMap = new CellMap<>();
+    private final CellMap<Map<ClickType, Clickable>> conditionalButtonMap = new CellMap<>();
+    protected final Map<Integer, Boolean> unlockedCells = this.unlockedCellMap;
+    protected final Map<Integer, ItemStack> cellItems = this.cellItemMap;
+    protected final Map<Integer, Map<ClickType, Clickable>> conditionalButtons = this.conditionalButtonMap;
     protected ItemStack blankItem = GuiUtils.getBorderGlassItem();
     protected int nextPageIndex = -1, prevPageIndex = -1;
     protected ItemStack nextPageItem, prevPageItem;
     protected ItemStack nextPage, prevPage;
     protected Gui parent = null;
     protected static final ItemStack AIR = new ItemStack(Material.AIR);
+    /**
+     * Copy of what has last been written to each cell of {@link #shadowInventory}, used to skip unchanged cells on updates
+     */
+    private ItemStack[] shadowItems;
+    private Inventory shadowInventory;
+    /**
+     * Contents rendered once by a {@link GuiPrototype}, shared with all other instances of the same prototype
+     */
+    private ItemStack[] prerenderedContents;
+    private CellMap<GuiAnimator.Animation> animations;
+    private String metricsName;
+    private boolean timingUpdate;
 
     protected GuiManager guiManager;
     protected boolean open = false;
@@ -63,6 +79,8 @@ public class Gui {
     protected Droppable dropper = null;
     protected Pagable pager = null;
     protected XSound defaultSound = XSound.UI_BUTTON_CLICK;
+    protected long clickWindow = -1;
+    protected int maxClicksPerWindow = 0;
 
     public Gui() {
         this.rows = 3;
@@ -331,7 +349,7 @@ public class Gui {
 
     @Nullable
     public ItemStack getItem(int cell) {
-        if (this.inventory != null && this.unlockedCells.getOrDefault(cell, false)) {
+        if (this.inventory != null && isUnlocked(cell)) {
             return this.inventory.getItem(cell);
         }
 
@@ -342,7 +360,7 @@ public class Gui {
     public ItemStack getItem(int row, int col) {
         final int cell = col + row * this.inventoryType.columns;
 
-        if (this.inventory != null && this.unlockedCells.getOrDefault(cell, false)) {
+        if (this.inventory != null && isUnlocked(cell)) {
             return this.inventory.getItem(cell);
         }
 
@@ -354,7 +372,7 @@ public class Gui {
         this.cellItems.put(cell, item);
 
         if (this.inventory != null && cell >= 0 && cell < this.inventory.getSize()) {
-            this.inventory.setItem(cell, item);
+            setInventoryItem(cell, item);
         }
 
         return this;
@@ -387,7 +405,7 @@ public class Gui {
 
     @NotNull
     public Gui highlightItem(int cell) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, ItemUtils.addGlow(item));
@@ -405,7 +423,7 @@ public class Gui {
 
     @NotNull
     public Gui removeHighlight(int cell) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, ItemUtils.removeGlow(item));
@@ -427,7 +445,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItemLore(int cell, @NotNull String... lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItemLore(item, lore));
@@ -443,7 +461,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItemLore(int cell, @Nullable List<String> lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItemLore(item, lore));
@@ -459,7 +477,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItemName(int cell, @Nullable String name) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItemName(item, name));
@@ -485,7 +503,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItem(int cell, @NotNull String name, @Nullable List<String> lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItem(item, name, lore));
@@ -501,7 +519,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItem(int cell, @NotNull ItemStack itemTo, @Nullable String title, @NotNull String... lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItem(item, itemTo, title, lore));
@@ -517,7 +535,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItem(int cell, @NotNull XMaterial itemTo, @Nullable String title, @Nullable String... lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItem(item, itemTo, title, lore));
@@ -533,7 +551,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItem(int cell, @NotNull ItemStack itemTo, @Nullable String title, @Nullable List<String> lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItem(item, itemTo, title, lore));
@@ -549,7 +567,7 @@ public class Gui {
 
     @NotNull
     public Gui updateItem(int cell, @NotNull XMaterial itemTo, @Nullable String title, @Nullable List<String> lore) {
-        ItemStack item = this.cellItems.get(cell);
+        ItemStack item = getMutableItem(cell);
 
         if (item != null && item.getType() != Material.AIR) {
             setItem(cell, GuiUtils.updateItem(item, itemTo, title, lore));
@@ -633,6 +651,92 @@ public class Gui {
         return clearActions(col + row * this.inventoryType.columns);
     }
 
+    /**
+     * Animate a cell by cycling through multiple items
+     *
+     * @param cell     the cell to animate
+     * @param interval the number of ticks each frame is displayed
+     * @param frames   the items to display in order
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public Gui setAnimation(int cell, int interval, @NotNull ItemStack... frames) {
+        if (frames.length == 0) {
+            return clearAnimation(cell);
+        }
+
+        if (this.animations == null) {
+            this.animations = new CellMap<>();
+        }
+
+        this.animations.put(cell, new GuiAnimator.Animation(frames.clone(), Math.max(1, interval)));
+        setItem(cell, frames[0]);
+
+        if (this.open && this.guiManager != null) {
+            this.guiManager.animator.register(this);
+        }
+
+        return this;
+    }
+
+    @NotNull
+    public Gui setAnimation(int row, int col, int interval, @NotNull ItemStack... frames) {
+        return setAnimation(col + row * this.inventoryType.columns, interval, frames);
+    }
+
+    @NotNull
+    public Gui setAnimation(int cell, int interval, @NotNull List<ItemStack> frames) {
+        return setAnimation(cell, interval, frames.toArray(new ItemStack[0]));
+    }
+
+    /**
+     * Stop animating a cell, keeping the frame that is currently displayed
+     *
+     * @param cell the cell to stop animating
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public Gui clearAnimation(int cell) {
+        if (this.animations != null) {
+            this.animations.remove(cell);
+        }
+
+        return this;
+    }
+
+    @NotNull
+    public Gui clearAnimation(int row, int col) {
+        return clearAnimation(col + row * this.inventoryType.columns);
+    }
+
+    boolean hasAnimations() {
+        return this.animations != null && !this.animations.isEmpty();
+    }
+
+    /**
+     * Display the current frame of all animated cells, only writing cells whose frame has changed
+     *
+     * @param tick the current tick of the {@link GuiAnimator}
+     */
+    void animate(long tick) {
+        for (Map.Entry<Integer, GuiAnimator.Animation> entry : this.animations.entrySet()) {
+            GuiAnimator.Animation animation = entry.getValue();
+            if (tick % animation.interval != 0) {
+                continue;
+            }
+
+            final int cell = entry.getKey();
+            final ItemStack frame = animation.getFrame(tick);
+
+            this.cellItemMap.put(cell, frame);
+            if (cell >= 0 && cell < this.inventory.getSize()) {
+                updateInventoryItem(cell, frame);
+            }
+        }
+    }
+
     @NotNull
     public Gui setButton(int cell, ItemStack item, @Nullable Clickable action) {
         setItem(cell, item);
@@ -670,7 +774,11 @@ public class Gui {
     }
 
     protected void setConditional(int cell, @Nullable ClickType type, @Nullable Clickable action) {
-        Map<ClickType, Clickable> conditionals = this.conditionalButtons.computeIfAbsent(cell, k -> new HashMap<>());
+        Map<ClickType, Clickable> conditionals = this.conditionalButtonMap.get(cell);
+        if (conditionals == null) {
+            conditionals = new ClickActionMap();
+            this.conditionalButtonMap.put(cell, conditionals);
+        }
         conditionals.put(type, action);
     }
 
@@ -711,10 +819,13 @@ public class Gui {
     public void reset() {
         if (this.inventory != null) {
             this.inventory.clear();
+            this.shadowItems = null;
         }
 
         setActionForRange(0, 53, null);
         this.cellItems.clear();
+        this.prerenderedContents = null;
+        this.animations = null;
         update();
     }
 
@@ -855,14 +966,132 @@ public class Gui {
 
         createInventory();
 
+        if (this.prerenderedContents != null && this.prerenderedContents.length == cells) {
+            generatePrerenderedInventory(cells);
+            return this.inventory;
+        }
+
         for (int i = 0; i < cells; ++i) {
-            final ItemStack item = this.cellItems.get(i);
-            this.inventory.setItem(i, item != null ? item : (this.unlockedCells.getOrDefault(i, false) ? AIR : this.blankItem));
+            final ItemStack item = this.cellItemMap.get(i);
+            setInventoryItem(i, item != null ? item : (isUnlocked(i) ? AIR : this.blankItem));
         }
 
         return this.inventory;
     }
 
+    /**
+     * Copy the prerendered contents into the new inventory and only write the cells that differ from them
+     */
+    private void generatePrerenderedInventory(int cells) {
+        final ItemStack[] contents = this.prerenderedContents;
+        this.inventory.setContents(contents);
+
+        ItemStack[] shadow = getShadowItems();
+        for (int i = 0; i < cells; ++i) {
+            shadow[i] = contents[i] == null || contents[i].getType() == Material.AIR ? null : contents[i];
+        }
+
+        for (int i = 0; i < cells; ++i) {
+            final ItemStack item = this.cellItemMap.get(i);
+            final ItemStack display = item != null ? item : (isUnlocked(i) ? AIR : this.blankItem);
+
+            if (display != contents[i]) {
+                setInventoryItem(i, display);
+            }
+        }
+    }
+
+    /**
+     * Create a new Gui with the layout, actions and settings of this one, used by {@link GuiPrototype}. <br>
+     * The items are not copied, as they are provided by the prototype.
+     * Subclasses with additional state should override this to return an instance of their own type.
+     *
+     * @return a new, unopened Gui
+     */
+    @NotNull
+    protected Gui newInstance() {
+        Gui instance = new Gui(this.inventoryType);
+        instance.copySettings(this);
+        return instance;
+    }
+
+    /**
+     * Copy everything but the items and the inventory from another Gui
+     *
+     * @param template the Gui to copy from
+     */
+    protected void copySettings(@NotNull Gui template) {
+        this.title = template.title;
+        this.inventoryType = template.inventoryType;
+        this.rows = template.rows;
+        this.page = template.page;
+        this.pages = template.pages;
+        this.acceptsItems = template.acceptsItems;
+        this.allowDropItems = template.allowDropItems;
+        this.allowClose = template.allowClose;
+        this.blankItem = template.blankItem;
+        this.nextPageIndex = template.nextPageIndex;
+        this.prevPageIndex = template.prevPageIndex;
+        this.nextPageItem = template.nextPageItem;
+        this.prevPageItem = template.prevPageItem;
+        this.nextPage = template.nextPage;
+        this.prevPage = template.prevPage;
+        this.parent = template.parent;
+        this.defaultClicker = template.defaultClicker;
+        this.privateDefaultClicker = template.privateDefaultClicker;
+        this.opener = template.opener;
+        this.closer = template.closer;
+        this.dropper = template.dropper;
+        this.pager = template.pager;
+        this.defaultSound = template.defaultSound;
+        this.clickWindow = template.clickWindow;
+        this.maxClicksPerWindow = template.maxClicksPerWindow;
+
+        this.unlockedCellMap.putAll(template.unlockedCellMap);
+        for (Map.Entry<Integer, Map<ClickType, Clickable>> entry : template.conditionalButtonMap.entrySet()) {
+            // copied per cell, so actions added to this instance don't end up in the template
+            ClickActionMap actions = new ClickActionMap();
+            actions.putAll(entry.getValue());
+            this.conditionalButtonMap.put(entry.getKey(), actions);
+        }
+
+        if (template.animations != null) {
+            this.animations = new CellMap<>();
+            this.animations.putAll(template.animations);
+        }
+    }
+
+    /**
+     * Use contents prerendered by a {@link GuiPrototype} for the cells of this Gui. <br>
+     * The items are shared with the prototype until a cell is changed.
+     *
+     * @param contents  the prerendered contents of all cells
+     * @param itemCells the cells that hold an item (and not the default item)
+     */
+    void setPrerendered(@NotNull ItemStack[] contents, @NotNull BitSet itemCells) {
+        this.prerenderedContents = contents;
+
+        for (int cell = itemCells.nextSetBit(0); cell != -1; cell = itemCells.nextSetBit(cell + 1)) {
+            this.cellItemMap.put(cell, contents[cell]);
+        }
+    }
+
+    /**
+     * Get the item of a cell to modify it in place. <br>
+     * Items shared with a {@link GuiPrototype} are copied first, so other instances are not affected.
+     */
+    private ItemStack getMutableItem(int cell) {
+        ItemStack item = this.cellItemMap.get(cell);
+
+        ItemStack[] contents = this.prerenderedContents;
+        if (item != null && contents != null && cell >= 0 && cell < contents.length && contents[cell] == item) {
+            item = item.clone();
+            this.cellItemMap.put(cell, item);
+        }
+
+        return item;
+    }
+
     protected void createInventory() {
         final InventoryType t = this.inventoryType == null ? InventoryType.CHEST : this.inventoryType.type;
 
@@ -890,13 +1119,157 @@ public class Gui {
             return;
         }
 
-        final int cells = this.rows * this.inventoryType.columns;
-        for (int i = 0; i < cells; ++i) {
-            final ItemStack item = this.cellItems.get(i);
-            this.inventory.setItem(i, item != null ? item : (this.unlockedCells.getOrDefault(i, false) ? AIR : this.blankItem));
+        final long start = startUpdateTiming();
+        try {
+            final int cells = this.rows * this.inventoryType.columns;
+            for (int i = 0; i < cells; ++i) {
+                final ItemStack item = this.cellItemMap.get(i);
+                updateInventoryItem(i, item != null ? item : (isUnlocked(i) ? AIR : this.blankItem));
+            }
+        } finally {
+            stopUpdateTiming(start);
         }
     }
 
+    /**
+     * Start timing an {@link #update()} for the {@link GuiMetrics}. <br>
+     * Overriding implementations should call this and {@link #stopUpdateTiming(long)},
+     * calls from within an update that is already being timed are ignored.
+     *
+     * @return the value to pass to {@link #stopUpdateTiming(long)}
+     */
+    protected final long startUpdateTiming() {
+        if (this.timingUpdate) {
+            return Long.MIN_VALUE;
+        }
+
+        this.timingUpdate = true;
+        return System.nanoTime();
+    }
+
+    protected final void stopUpdateTiming(long start) {
+        if (start != Long.MIN_VALUE) {
+            this.timingUpdate = false;
+            GuiMetrics.record(this, GuiMetrics.Phase.UPDATE, start);
+        }
+    }
+
+    /**
+     * @return the name the timings of this GUI are grouped by in {@link GuiMetrics}
+     */
+    @NotNull
+    protected String getMetricsName() {
+        // anonymous classes have no simple name
+        final String name = getClass().getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    String getCachedMetricsName() {
+        if (this.metricsName == null) {
+            this.metricsName = getMetricsName();
+        }
+
+        return this.metricsName;
+    }
+
+    /**
+     * Write an item to the inventory and remember it, so later updates can skip the cell if it did not change.
+     *
+     * @param cell the cell of {@link #inventory} to write to
+     * @param item the item to display
+     */
+    protected void setInventoryItem(int cell, @Nullable ItemStack item) {
+        this.inventory.setItem(cell, item);
+
+        ItemStack[] shadow = getShadowItems();
+        if (cell >= 0 && cell < shadow.length) {
+            shadow[cell] = item == null || item.getType() == Material.AIR ? null : item.clone();
+        }
+    }
+
+    /**
+     * Write an item to the inventory, unless the cell already displays an equal item. <br>
+     * Unlocked cells are always written, as players may have changed their contents.
+     *
+     * @param cell the cell of {@link #inventory} to write to
+     * @param item the item to display
+     *
+     * @return true if the inventory has been changed
+     */
+    protected boolean updateInventoryItem(int cell, @Nullable ItemStack item) {
+        ItemStack[] shadow = getShadowItems();
+
+        if (cell >= 0 && cell < shadow.length
+                && !isUnlocked(cell)
+                && isDisplayed(cell, shadow[cell], item)) {
+            return false;
+        }
+
+        setInventoryItem(cell, item);
+        return true;
+    }
+
+    private boolean isDisplayed(int cell, @Nullable ItemStack shadow, @Nullable ItemStack item) {
+        boolean empty = item == null || item.getType() == Material.AIR;
+        if (shadow == null) {
+            if (!empty) {
+                return false;
+            }
+        } else if (empty || !shadow.equals(item)) {
+            return false;
+        }
+
+        // cheap check to catch the inventory having been changed without going through setInventoryItem
+        ItemStack current = this.inventory.getItem(cell);
+        if (current == null || current.getType() == Material.AIR) {
+            return empty;
+        }
+        return !empty && current.getType() == item.getType() && current.getAmount() == item.getAmount();
+    }
+
+    private ItemStack[] getShadowItems() {
+        if (this.shadowItems == null || this.shadowInventory != this.inventory) {
+            this.shadowInventory = this.inventory;
+            this.shadowItems = new ItemStack[this.inventory.getSize()];
+        }
+
+        return this.shadowItems;
+    }
+
+    /**
+     * Checks if players are allowed to take and place items in a cell
+     *
+     * @param cell the cell to check
+     *
+     * @return true if the cell has been unlocked
+     */
+    protected boolean isUnlocked(int cell) {
+        return this.unlockedCellMap.isUnlocked(cell);
+    }
+
+    /**
+     * Get the action to run for a click on a cell
+     *
+     * @param cell the cell that has been clicked
+     * @param type the type of the click
+     *
+     * @return the action for this click type, the action for any click or null if there is none
+     */
+    @Nullable
+    protected Clickable getClickAction(int cell, @Nullable ClickType type) {
+        Map<ClickType, Clickable> conditionals = this.conditionalButtonMap.get(cell);
+        if (conditionals == null) {
+            return null;
+        }
+
+        if (conditionals instanceof ClickActionMap) {
+            return ((ClickActionMap) conditionals).getAction(type);
+        }
+
+        Clickable action = conditionals.get(type);
+        return action != null ? action : conditionals.get(null);
+    }
+
     protected static String trimTitle(String title) {
         if (title == null) {
             return "";
@@ -915,11 +1288,9 @@ public class Gui {
 
     protected boolean onClick(@NotNull GuiManager manager, @NotNull Player player, @NotNull Inventory inventory, @NotNull InventoryClickEvent event) {
         final int cell = event.getSlot();
-        Map<ClickType, Clickable> conditionals = this.conditionalButtons.get(cell);
+        Clickable button = getClickAction(cell, event.getClick());
 
-        Clickable button;
-        if (conditionals != null
-                && ((button = conditionals.get(event.getClick())) != null || (button = conditionals.get(null)) != null)) {
+        if (button != null) {
             button.onClick(new GuiClickEvent(manager, this, player, event, cell, true));
         } else {
             // no event for this button
@@ -944,10 +1315,33 @@ public class Gui {
         return false;
     }
 
+    /**
+     * Called when a player viewing this Gui is switched to another one,
+     * so closing this inventory does not trigger {@link #onClose(GuiManager, Player)}
+     *
+     * @param player the player that is switched to another Gui
+     */
+    void detach(@NotNull Player player) {
+        this.open = false;
+    }
+
+    /**
+     * @param player a player viewing this Gui
+     *
+     * @return true if closing the inventory should trigger {@link #onClose(GuiManager, Player)} for the player
+     */
+    boolean isAttached(@NotNull Player player) {
+        return this.open;
+    }
+
     public void onOpen(@NotNull GuiManager manager, @NotNull Player player) {
         this.open = true;
         this.guiManager = manager;
 
+        if (hasAnimations()) {
+            manager.animator.register(this);
+        }
+
         if (this.opener != null) {
             this.opener.onOpen(new GuiOpenEvent(manager, this, player));
         }
@@ -970,6 +1364,22 @@ public class Gui {
         }
     }
 
+    /**
+     * Limit how fast players can click in this GUI, overriding the defaults of the {@link GuiManager}. <br>
+     * Within each window, repeated clicks of the same type on the same locked cell are dropped.
+     *
+     * @param windowMillis the length of the window in milliseconds, 0 to disable limiting
+     * @param maxClicks    the maximum number of clicks per window, 0 for no maximum
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public Gui setClickThrottle(long windowMillis, int maxClicks) {
+        this.clickWindow = Math.max(0, windowMillis);
+        this.maxClicksPerWindow = Math.max(0, maxClicks);
+        return this;
+    }
+
     public XSound getDefaultSound() {
         return this.defaultSound;
     }
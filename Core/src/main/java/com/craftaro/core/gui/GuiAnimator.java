@@ -0,0 +1,77 @@
+package com.craftaro.core.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Internal ticker that advances the animated cells of all open GUIs of a {@link GuiManager}. <br>
+ * A single task runs while at least one animated GUI is being viewed and updates all of them in one pass each tick.
+ * GUIs without viewers are dropped and registered again the next time they are opened.
+ */
+class GuiAnimator {
+    private final GuiManager manager;
+    private final Set<Gui> guis = new LinkedHashSet<>();
+    private BukkitTask task;
+    private long tick;
+
+    GuiAnimator(GuiManager manager) {
+        this.manager = manager;
+    }
+
+    void register(Gui gui) {
+        if (this.guis.add(gui) && this.task == null && this.manager.plugin.isEnabled()) {
+            this.task = Bukkit.getScheduler().runTaskTimer(this.manager.plugin, this::tick, 1, 1);
+        }
+    }
+
+    void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+
+        this.guis.clear();
+    }
+
+    private void tick() {
+        ++this.tick;
+
+        Iterator<Gui> it = this.guis.iterator();
+        while (it.hasNext()) {
+            Gui gui = it.next();
+
+            if (gui.inventory == null || !gui.hasAnimations() || gui.inventory.getViewers().isEmpty()) {
+                it.remove();
+                continue;
+            }
+
+            gui.animate(this.tick);
+        }
+
+        if (this.guis.isEmpty()) {
+            stop();
+        }
+    }
+
+    /**
+     * The frames of an animated cell
+     */
+    static final class Animation {
+        final ItemStack[] frames;
+        final int interval;
+
+        Animation(ItemStack[] frames, int interval) {
+            this.frames = frames;
+            this.interval = interval;
+        }
+
+        ItemStack getFrame(long tick) {
+            return this.frames[(int) ((tick / this.interval) % this.frames.length)];
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.craftaro.core.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Provides the entries of a {@link LazyPagedGui} one page at a time,
+ * e.g. backed by a query on the {@link com.craftaro.core.database.DataManager}. <br>
+ * Both methods may be called off the main thread.
+ *
+ * @param <T> the type of the entries
+ */
+public interface GuiDataSource<T> {
+    /**
+     * @return the total number of entries
+     */
+    int size();
+
+    /**
+     * Fetch a range of entries
+     *
+     * @param offset the index of the first entry
+     * @param limit  the maximum number of entries to return
+     *
+     * @return the entries in the range, fewer than {@code limit} if the end has been reached
+     */
+    @NotNull
+    List<T> fetch(int offset, int limit);
+}
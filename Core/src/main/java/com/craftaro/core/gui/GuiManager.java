@@ -33,6 +33,8 @@ public class GuiManager {
     final Plugin plugin;
     final UUID uuid = UUID.randomUUID(); // manager tracking to fix weird bugs from lazy programming
     final GuiListener listener = new GuiListener(this);
+    final GuiAnimator animator = new GuiAnimator(this);
+    final ClickThrottle clickThrottle = new ClickThrottle();
     final Map<Player, Gui> openInventories = new HashMap<>();
     private final Object lock = new Object();
     private boolean initialized = false;
@@ -87,13 +89,19 @@ public class GuiManager {
             // bukkit throws a fit now if you try to set anvil stuff asynchronously
             Gui openInv = this.openInventories.get(player);
 
-            if (openInv != null) {
-                openInv.open = false;
+            // re-opening the same Gui must not release it right before it is shown again
+            if (openInv != null && openInv != gui) {
+                openInv.detach(player);
             }
 
+            long start = System.nanoTime();
             gui.getOrCreateInventory(this);
+            GuiMetrics.record(gui, GuiMetrics.Phase.BUILD, start);
+
+            start = System.nanoTime();
             ((AnvilGui) gui).open();
             gui.onOpen(this, player);
+            GuiMetrics.record(gui, GuiMetrics.Phase.OPEN, start);
 
             synchronized (this.lock) {
                 this.openInventories.put(player, gui);
@@ -105,15 +113,20 @@ public class GuiManager {
         Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
             Gui openInv = this.openInventories.get(player);
 
-            if (openInv != null) {
-                openInv.open = false;
+            // re-opening the same Gui must not release it right before it is shown again
+            if (openInv != null && openInv != gui) {
+                openInv.detach(player);
             }
 
+            final long buildStart = System.nanoTime();
             Inventory inv = gui.getOrCreateInventory(this);
+            GuiMetrics.record(gui, GuiMetrics.Phase.BUILD, buildStart);
 
             Bukkit.getScheduler().runTask(this.plugin, () -> {
+                final long openStart = System.nanoTime();
                 player.openInventory(inv);
                 gui.onOpen(this, player);
+                GuiMetrics.record(gui, GuiMetrics.Phase.OPEN, openStart);
 
                 synchronized (this.lock) {
                     this.openInventories.put(player, gui);
@@ -122,6 +135,33 @@ public class GuiManager {
         });
     }
 
+    /**
+     * Limit how fast players can click in the GUIs of this manager, unless a GUI sets its own limit. <br>
+     * Within each window, repeated clicks of the same type on the same slot are dropped.
+     * Only clicks on locked cells of a GUI are limited, so moving items is not affected. Disabled by default.
+     *
+     * @param windowMillis the length of the window in milliseconds, 0 to disable limiting
+     * @param maxClicks    the maximum number of clicks per window, 0 for no maximum
+     */
+    public void setClickThrottle(long windowMillis, int maxClicks) {
+        this.clickThrottle.defaultWindow = Math.max(0, windowMillis);
+        this.clickThrottle.defaultMaxClicks = Math.max(0, maxClicks);
+    }
+
+    /**
+     * @return the number of clicks on locked cells that have been handled by the GUIs of this manager
+     */
+    public long getProcessedClicks() {
+        return this.clickThrottle.processedClicks;
+    }
+
+    /**
+     * @return the number of clicks that have been dropped because of the click limit
+     */
+    public long getDroppedClicks() {
+        return this.clickThrottle.droppedClicks;
+    }
+
     public void showPopup(Player player, String message) {
         showPopup(player, message, XMaterial.NETHER_STAR, BackgroundType.ADVENTURE);
     }
@@ -185,11 +225,13 @@ public class GuiManager {
                     && ((GuiHolder) openInv.getHolder()).manager.uuid.equals(this.manager.uuid)) {
                 gui = ((GuiHolder) openInv.getHolder()).getGUI();
 
-                if (event.getRawSlots().stream()
-                        .filter(slot -> gui.inventory.getSize() > slot)
-                        .anyMatch(slot -> !gui.unlockedCells.getOrDefault(slot, false))) {
-                    event.setCancelled(true);
-                    event.setResult(Result.DENY);
+                final int size = gui.inventory.getSize();
+                for (int slot : event.getRawSlots()) {
+                    if (slot < size && !gui.isUnlocked(slot)) {
+                        event.setCancelled(true);
+                        event.setResult(Result.DENY);
+                        break;
+                    }
                 }
             }
         }
@@ -208,13 +250,22 @@ public class GuiManager {
                     ((GuiHolder) openInv.getHolder()).manager.uuid.equals(this.manager.uuid)) {
                 gui = ((GuiHolder) openInv.getHolder()).getGUI();
 
+                // only clicks on GUI buttons are limited, not on unlocked cells or the player's inventory
+                final int rawSlot = event.getRawSlot();
+                if (rawSlot >= 0 && rawSlot < gui.inventory.getSize() && !gui.isUnlocked(rawSlot)
+                        && !this.manager.clickThrottle.tryClick(player, gui, rawSlot, event.getClick())) {
+                    // too many clicks, drop this one without running any actions
+                    event.setCancelled(true);
+                    return;
+                }
+
                 if (event.getClick() == ClickType.DOUBLE_CLICK) {
                     // always cancel this event if there are matching gui elements, since it tends to do bad things
                     ItemStack clicked = event.getCursor();
                     if (clicked != null && clicked.getType() != Material.AIR) {
                         int cell = 0;
                         for (ItemStack it : gui.inventory.getContents()) {
-                            if (!gui.unlockedCells.getOrDefault(cell++, false) && clicked.isSimilar(it)) {
+                            if (!gui.isUnlocked(cell++) && clicked.isSimilar(it)) {
                                 event.setCancelled(true);
 
                                 if (gui instanceof AnvilGui) {
@@ -234,15 +285,23 @@ public class GuiManager {
                 } // did we click the gui or in the user's inventory?
                 else if (event.getRawSlot() < gui.inventory.getSize()) { // or could use event.getClickedInventory() == gui.inventory
                     // allow event if this is not a GUI element
-                    event.setCancelled(gui.unlockedCells.entrySet().stream().noneMatch(e -> event.getSlot() == e.getKey() && e.getValue()));
+                    event.setCancelled(!gui.isUnlocked(event.getSlot()));
 
                     // process button press
-                    if (gui.onClick(this.manager, player, openInv, event)) {
+                    final long start = System.nanoTime();
+                    final boolean clicked = gui.onClick(this.manager, player, openInv, event);
+                    GuiMetrics.record(gui, GuiMetrics.Phase.CLICK, start);
+
+                    if (clicked) {
                         gui.getDefaultSound().play(player);
                     }
                 } else {
                     // Player clicked in the bottom inventory while GUI is open
-                    if (gui.onClickPlayerInventory(this.manager, player, openInv, event)) {
+                    final long start = System.nanoTime();
+                    final boolean clicked = gui.onClickPlayerInventory(this.manager, player, openInv, event);
+                    GuiMetrics.record(gui, GuiMetrics.Phase.CLICK, start);
+
+                    if (clicked) {
                         gui.getDefaultSound().play(player);
                     } else if (!gui.acceptsItems || event.getAction() == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
                         event.setCancelled(true);
@@ -268,11 +327,13 @@ public class GuiManager {
                     gui.inventory = null;
                 }
 
-                if (!gui.open) {
+                final Player player = (Player) event.getPlayer();
+                this.manager.clickThrottle.remove(player);
+
+                if (!gui.isAttached(player)) {
                     return;
                 }
 
-                final Player player = (Player) event.getPlayer();
                 if (!gui.allowDropItems) {
                     player.setItemOnCursor(null);
                 }
@@ -292,6 +353,8 @@ public class GuiManager {
             if (event.getPlugin() == this.manager.plugin) {
                 // uh-oh! Abandon ship!!
                 this.manager.shutdown = true;
+                this.manager.animator.stop();
+                this.manager.clickThrottle.clear();
                 this.manager.closeAll();
                 this.manager.initialized = false;
             }
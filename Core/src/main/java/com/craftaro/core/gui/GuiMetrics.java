@@ -0,0 +1,137 @@
+package com.craftaro.core.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings of building, opening, clicking and updating GUIs, grouped by GUI class
+ * (and key for {@link CustomizableGui}s) to find slow menus. <br>
+ * Each plugin shading this core has its own timings, the ones of the plugin providing the command are shown
+ * by {@code /songoda diag}.
+ */
+public final class GuiMetrics {
+    public enum Phase {
+        BUILD, OPEN, CLICK, UPDATE
+    }
+
+    private static final Map<String, Histogram[]> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = true;
+
+    private GuiMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        GuiMetrics.enabled = enabled;
+    }
+
+    /**
+     * @return all timings by GUI name, each indexed by {@link Phase#ordinal()}. Phases that have not been recorded are null.
+     */
+    @NotNull
+    public static Map<String, Histogram[]> getHistograms() {
+        return Collections.unmodifiableMap(HISTOGRAMS);
+    }
+
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Record the time since {@code startNanos} for a GUI
+     *
+     * @param gui        the GUI that has been timed
+     * @param phase      what has been timed
+     * @param startNanos the value of {@link System#nanoTime()} when the timed action started
+     */
+    static void record(Gui gui, Phase phase, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+
+        final long nanos = System.nanoTime() - startNanos;
+        Histogram[] histograms = HISTOGRAMS.computeIfAbsent(gui.getCachedMetricsName(), k -> new Histogram[Phase.values().length]);
+
+        Histogram histogram = histograms[phase.ordinal()];
+        if (histogram == null) {
+            // a lost race only loses a single sample
+            histogram = new Histogram();
+            histograms[phase.ordinal()] = histogram;
+        }
+
+        histogram.record(nanos);
+    }
+
+    /**
+     * Distribution of durations, using buckets from 0.1ms to 100ms
+     */
+    public static final class Histogram {
+        private static final long[] BUCKET_LIMITS = {
+                100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L, 100_000_000L
+        };
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS.length + 1);
+
+        void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+
+            int bucket = 0;
+            while (bucket < BUCKET_LIMITS.length && nanos > BUCKET_LIMITS[bucket]) {
+                ++bucket;
+            }
+            this.buckets.incrementAndGet(bucket);
+        }
+
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        public double getAverageMillis() {
+            long count = getCount();
+            return count == 0 ? 0 : this.totalNanos.sum() / (double) count / 1_000_000;
+        }
+
+        public double getMaxMillis() {
+            return this.maxNanos.get() / 1_000_000d;
+        }
+
+        /**
+         * Get the upper limit of the bucket containing a percentile
+         *
+         * @param percentile the percentile, e.g. 0.99
+         *
+         * @return the duration in milliseconds that the given share of all samples did not exceed
+         */
+        public double getPercentileMillis(double percentile) {
+            long count = getCount();
+            if (count == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_LIMITS.length; ++i) {
+                seen += this.buckets.get(i);
+                if (seen >= target) {
+                    return BUCKET_LIMITS[i] / 1_000_000d;
+                }
+            }
+
+            return getMaxMillis();
+        }
+    }
+}
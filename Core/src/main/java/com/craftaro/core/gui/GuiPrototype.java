@@ -0,0 +1,151 @@
+package com.craftaro.core.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+
+/**
+ * A Gui that is defined once and opened as a separate instance for every player. <br>
+ * The static cells of the template are rendered only once, new instances copy the
+ * prerendered contents and only write the cells that have been changed for the player.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * GuiPrototype shop = new GuiPrototype(createShopGui());
+ *
+ * shop.open(guiManager, player, (gui, viewer) -> gui.setItem(4, createBalanceItem(viewer)));
+ * }</pre>
+ * Items of the template are shared between all instances. Changing them through the
+ * methods of {@link Gui} is safe, but items returned by {@link Gui#getItem(int)} must not be modified in place.
+ * After changing the template, {@link #invalidate()} has to be called to render it again.
+ * <br><br>
+ * Only templates that can create instances of their own type through {@link Gui#newInstance()} are supported.
+ * Paged and double Guis keep items outside of the rendered cells and can't be used as templates.
+ */
+public class GuiPrototype {
+    private final Gui template;
+    private volatile Rendered rendered;
+
+    /**
+     * @param template the Gui to create instances of
+     *
+     * @throws IllegalArgumentException if the class of the template does not override {@link Gui#newInstance()}
+     */
+    public GuiPrototype(@NotNull Gui template) {
+        if (template.newInstance().getClass() != template.getClass()) {
+            // the instance would lose the behaviour the template's class overrides
+            throw new IllegalArgumentException(template.getClass().getName() + " can't be used as a template, it does not override Gui#newInstance");
+        }
+
+        this.template = template;
+    }
+
+    @NotNull
+    public Gui getTemplate() {
+        return this.template;
+    }
+
+    /**
+     * Discard the prerendered contents, so the template is rendered again for the next instance.
+     * Instances that have already been created are not changed.
+     */
+    public void invalidate() {
+        this.rendered = null;
+    }
+
+    /**
+     * Create a new instance of the template with the prerendered contents
+     *
+     * @return a new, unopened Gui
+     */
+    @NotNull
+    public Gui createInstance() {
+        Rendered rendered = getRendered();
+
+        Gui instance = this.template.newInstance();
+        instance.setPrerendered(rendered.contents, rendered.itemCells);
+        return instance;
+    }
+
+    /**
+     * Create a new instance of the template and change the cells specific to a player
+     *
+     * @param player  the player the instance is for
+     * @param overlay sets the dynamic cells of the new instance, may be null if there are none
+     *
+     * @return a new, unopened Gui
+     */
+    @NotNull
+    public Gui createInstance(@NotNull Player player, @Nullable BiConsumer<Gui, Player> overlay) {
+        Gui instance = createInstance();
+
+        if (overlay != null) {
+            overlay.accept(instance, player);
+        }
+
+        return instance;
+    }
+
+    /**
+     * Create a new instance of the template and display it to a player
+     *
+     * @param manager the manager to open the Gui with
+     * @param player  the player to open the instance for
+     * @param overlay sets the dynamic cells of the new instance, may be null if there are none
+     *
+     * @return the opened instance
+     */
+    @NotNull
+    public Gui open(@NotNull GuiManager manager, @NotNull Player player, @Nullable BiConsumer<Gui, Player> overlay) {
+        Gui instance = createInstance(player, overlay);
+        manager.showGUI(player, instance);
+        return instance;
+    }
+
+    private Rendered getRendered() {
+        Rendered rendered = this.rendered;
+
+        if (rendered == null) {
+            rendered = render();
+            this.rendered = rendered;
+        }
+
+        return rendered;
+    }
+
+    private Rendered render() {
+        final Gui template = this.template;
+        final int cells = template.rows * template.inventoryType.columns;
+
+        ItemStack[] contents = new ItemStack[cells];
+        BitSet itemCells = new BitSet(cells);
+
+        for (int i = 0; i < cells; ++i) {
+            final ItemStack item = template.cellItems.get(i);
+
+            if (item != null) {
+                // copied, so changes to the template don't affect instances until it is rendered again
+                contents[i] = item.clone();
+                itemCells.set(i);
+            } else {
+                contents[i] = template.isUnlocked(i) ? Gui.AIR : template.blankItem;
+            }
+        }
+
+        return new Rendered(contents, itemCells);
+    }
+
+    private static final class Rendered {
+        final ItemStack[] contents;
+        final BitSet itemCells;
+
+        Rendered(ItemStack[] contents, BitSet itemCells) {
+            this.contents = contents;
+            this.itemCells = itemCells;
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.craftaro.core.chat.AdventureUtils;
 import com.craftaro.core.compatibility.CompatibleMaterial;
 import com.craftaro.core.locale.Message;
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import net.kyori.adventure.text.Component;
 import org.bukkit.ChatColor;
 import org.bukkit.inventory.ItemStack;
@@ -13,8 +16,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 public class GuiUtils {
+    /**
+     * Finished button items by their arguments, callers always get a clone
+     */
+    private static final Cache<ButtonKey, ItemStack> BUTTON_CACHE = CacheBuilder.newBuilder().maximumSize(1024).recordStats().build();
+
     public static ItemStack getBorderGlassItem() {
         ItemStack glass = XMaterial.LIGHT_BLUE_STAINED_GLASS_PANE.parseItem();
         ItemMeta glassmeta = glass.getItemMeta();
@@ -104,22 +114,24 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, String title, String... lore) {
-        ItemStack item = mat.parseItem();
-        ItemMeta meta = item.getItemMeta();
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_TEXT, mat, 1, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            meta.setDisplayName(title);
+            if (meta != null) {
+                meta.setDisplayName(title);
 
-            if (lore != null) {
-                meta.setLore(getSafeLore(lore));
-            } else {
-                meta.setLore(Collections.emptyList());
-            }
+                if (lore != null) {
+                    meta.setLore(getSafeLore(lore));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-            item.setItemMeta(meta);
-        }
+                item.setItemMeta(meta);
+            }
 
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, Component title, Component... lore) {
@@ -128,36 +140,40 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, int amount, String title, String... lore) {
-        ItemStack item = mat.parseItem();
-        item.setAmount(amount);
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_TEXT, mat, amount, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            item.setAmount(amount);
 
-        ItemMeta meta = item.getItemMeta();
+            ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            meta.setDisplayName(title);
+            if (meta != null) {
+                meta.setDisplayName(title);
 
-            if (lore != null) {
-                meta.setLore(getSafeLore(lore));
-            } else {
-                meta.setLore(Collections.emptyList());
-            }
+                if (lore != null) {
+                    meta.setLore(getSafeLore(lore));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-            item.setItemMeta(meta);
-        }
+                item.setItemMeta(meta);
+            }
 
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, int amount, Component title, Component... lore) {
-        ItemStack item = mat.parseItem();
-        if (item == null) {
-            throw new IllegalArgumentException("Invalid material: " + mat);
-        }
-        item.setAmount(amount);
-        AdventureUtils.formatItemName(item, title);
-        AdventureUtils.formatItemLore(item, lore);
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_COMPONENT, mat, amount, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            if (item == null) {
+                throw new IllegalArgumentException("Invalid material: " + mat);
+            }
+            item.setAmount(amount);
+            AdventureUtils.formatItemName(item, title);
+            AdventureUtils.formatItemLore(item, lore);
 
-        return item;
+            return item;
+        });
     }
 
     @Deprecated
@@ -182,22 +198,24 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, String title, List<String> lore) {
-        ItemStack item = mat.parseItem();
-        ItemMeta meta = item.getItemMeta();
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_TEXT, mat, 1, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            meta.setDisplayName(title);
+            if (meta != null) {
+                meta.setDisplayName(title);
 
-            if (lore != null) {
-                meta.setLore(getSafeLore(lore));
-            } else {
-                meta.setLore(Collections.emptyList());
-            }
+                if (lore != null) {
+                    meta.setLore(getSafeLore(lore));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-            item.setItemMeta(meta);
-        }
+                item.setItemMeta(meta);
+            }
 
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, Component title, List<Component> lore) {
@@ -206,36 +224,40 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, int amount, String title, List<String> lore) {
-        ItemStack item = mat.parseItem();
-        item.setAmount(amount);
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_TEXT, mat, amount, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            item.setAmount(amount);
 
-        ItemMeta meta = item.getItemMeta();
+            ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            meta.setDisplayName(title);
+            if (meta != null) {
+                meta.setDisplayName(title);
 
-            if (lore != null) {
-                meta.setLore(getSafeLore(lore));
-            } else {
-                meta.setLore(Collections.emptyList());
-            }
+                if (lore != null) {
+                    meta.setLore(getSafeLore(lore));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-            item.setItemMeta(meta);
-        }
+                item.setItemMeta(meta);
+            }
 
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, int amount, Component title, List<Component> lore) {
-        ItemStack item = mat.parseItem();
-        if (item == null) {
-            throw new IllegalArgumentException("Invalid material: " + mat);
-        }
-        item.setAmount(amount);
-        AdventureUtils.formatItemName(item, title);
-        AdventureUtils.formatItemLore(item, lore);
+        return fromTemplate(new ButtonKey(ButtonKey.TITLE_COMPONENT, mat, amount, title, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            if (item == null) {
+                throw new IllegalArgumentException("Invalid material: " + mat);
+            }
+            item.setAmount(amount);
+            AdventureUtils.formatItemName(item, title);
+            AdventureUtils.formatItemLore(item, lore);
 
-        return item;
+            return item;
+        });
     }
 
     @Deprecated
@@ -268,57 +290,63 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, String[] lore) {
-        ItemStack item = mat.parseItem();
-        ItemMeta meta = item.getItemMeta();
-
-        if (meta != null) {
-            if (lore != null && lore.length != 0) {
-                List<String> safe = getSafeLore(lore);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_TEXT, mat, 1, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            ItemMeta meta = item.getItemMeta();
+
+            if (meta != null) {
+                if (lore != null && lore.length != 0) {
+                    List<String> safe = getSafeLore(lore);
+
+                    meta.setDisplayName(safe.get(0));
+                    meta.setLore(safe.subList(1, safe.size()));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-                meta.setDisplayName(safe.get(0));
-                meta.setLore(safe.subList(1, safe.size()));
-            } else {
-                meta.setLore(Collections.emptyList());
+                item.setItemMeta(meta);
             }
 
-            item.setItemMeta(meta);
-        }
-
-        return item;
+            return item;
+        });
     }
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, int amount, String[] lore) {
-        ItemStack item = mat.parseItem();
-        item.setAmount(amount);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_TEXT, mat, amount, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            item.setAmount(amount);
 
-        ItemMeta meta = item.getItemMeta();
+            ItemMeta meta = item.getItemMeta();
 
-        if (meta != null) {
-            if (lore != null && lore.length != 0) {
-                List<String> safe = getSafeLore(lore);
+            if (meta != null) {
+                if (lore != null && lore.length != 0) {
+                    List<String> safe = getSafeLore(lore);
 
-                meta.setDisplayName(safe.get(0));
-                meta.setLore(safe.subList(1, safe.size()));
-            } else {
-                meta.setLore(Collections.emptyList());
-            }
+                    meta.setDisplayName(safe.get(0));
+                    meta.setLore(safe.subList(1, safe.size()));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-            item.setItemMeta(meta);
-        }
+                item.setItemMeta(meta);
+            }
 
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, int amount, Component... lore) {
-        ItemStack item = mat.parseItem();
-        if (item == null) {
-            throw new IllegalArgumentException("Invalid material: " + mat);
-        }
-        item.setAmount(amount);
-        AdventureUtils.formatItemLore(item, lore);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_COMPONENT, mat, amount, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            if (item == null) {
+                throw new IllegalArgumentException("Invalid material: " + mat);
+            }
+            item.setAmount(amount);
+            AdventureUtils.formatItemLore(item, lore);
 
-        return item;
+            return item;
+        });
     }
 
     @Deprecated
@@ -351,23 +379,25 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, List<String> lore, String... unused) {
-        ItemStack item = mat.parseItem();
-        ItemMeta meta = item.getItemMeta();
-
-        if (meta != null) {
-            if (lore != null && !lore.isEmpty()) {
-                List<String> safe = getSafeLore(lore);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_TEXT, mat, 1, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            ItemMeta meta = item.getItemMeta();
+
+            if (meta != null) {
+                if (lore != null && !lore.isEmpty()) {
+                    List<String> safe = getSafeLore(lore);
+
+                    meta.setDisplayName(safe.get(0));
+                    meta.setLore(safe.subList(1, safe.size()));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-                meta.setDisplayName(safe.get(0));
-                meta.setLore(safe.subList(1, safe.size()));
-            } else {
-                meta.setLore(Collections.emptyList());
+                item.setItemMeta(meta);
             }
 
-            item.setItemMeta(meta);
-        }
-
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, List<Component> lore) {
@@ -376,35 +406,39 @@ public class GuiUtils {
 
     @Deprecated
     public static ItemStack createButtonItem(XMaterial mat, int amount, List<String> lore, String... unused) {
-        ItemStack item = mat.parseItem();
-        item.setAmount(amount);
-        ItemMeta meta = item.getItemMeta();
-
-        if (meta != null) {
-            if (lore != null && !lore.isEmpty()) {
-                List<String> safe = getSafeLore(lore);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_TEXT, mat, amount, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            item.setAmount(amount);
+            ItemMeta meta = item.getItemMeta();
+
+            if (meta != null) {
+                if (lore != null && !lore.isEmpty()) {
+                    List<String> safe = getSafeLore(lore);
+
+                    meta.setDisplayName(safe.get(0));
+                    meta.setLore(safe.subList(1, safe.size()));
+                } else {
+                    meta.setLore(Collections.emptyList());
+                }
 
-                meta.setDisplayName(safe.get(0));
-                meta.setLore(safe.subList(1, safe.size()));
-            } else {
-                meta.setLore(Collections.emptyList());
+                item.setItemMeta(meta);
             }
 
-            item.setItemMeta(meta);
-        }
-
-        return item;
+            return item;
+        });
     }
 
     public static ItemStack createButtonItem(XMaterial mat, int amount, List<Component> lore) {
-        ItemStack item = mat.parseItem();
-        if (item == null) {
-            throw new IllegalArgumentException("Invalid material: " + mat);
-        }
-        item.setAmount(amount);
-        AdventureUtils.formatItemLore(item, lore);
+        return fromTemplate(new ButtonKey(ButtonKey.LORE_COMPONENT, mat, amount, null, loreKey(lore)), () -> {
+            ItemStack item = mat.parseItem();
+            if (item == null) {
+                throw new IllegalArgumentException("Invalid material: " + mat);
+            }
+            item.setAmount(amount);
+            AdventureUtils.formatItemLore(item, lore);
 
-        return item;
+            return item;
+        });
     }
 
     @Deprecated
@@ -714,4 +748,82 @@ public class GuiUtils {
     public static ItemStack createButtonItem(XMaterial material, Message title, Message lore) {
         return createButtonItem(material, title.getMessage(), lore.getMessage());
     }
+
+    /**
+     * @return hit and miss statistics of the cache used by the {@code createButtonItem} methods taking a material
+     */
+    public static CacheStats getButtonCacheStats() {
+        return BUTTON_CACHE.stats();
+    }
+
+    /**
+     * Discard all cached button items, e.g. after a resource pack or locale reload
+     */
+    public static void invalidateButtonCache() {
+        BUTTON_CACHE.invalidateAll();
+    }
+
+    private static ItemStack fromTemplate(ButtonKey key, Supplier<ItemStack> factory) {
+        ItemStack template = BUTTON_CACHE.getIfPresent(key);
+
+        if (template == null) {
+            template = factory.get();
+            BUTTON_CACHE.put(key, template.clone());
+            return template;
+        }
+
+        return template.clone();
+    }
+
+    private static List<?> loreKey(Object[] lore) {
+        return lore == null ? null : Arrays.asList(lore.clone());
+    }
+
+    private static List<?> loreKey(List<?> lore) {
+        return lore == null ? null : new ArrayList<>(lore);
+    }
+
+    private static final class ButtonKey {
+        static final int TITLE_TEXT = 0, TITLE_COMPONENT = 1, LORE_TEXT = 2, LORE_COMPONENT = 3;
+
+        private final int variant;
+        private final XMaterial material;
+        private final int amount;
+        private final Object title;
+        private final List<?> lore;
+        private final int hash;
+
+        ButtonKey(int variant, XMaterial material, int amount, Object title, List<?> lore) {
+            this.variant = variant;
+            this.material = material;
+            this.amount = amount;
+            this.title = title;
+            this.lore = lore;
+            this.hash = Objects.hash(variant, material, amount, title, lore);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof ButtonKey)) {
+                return false;
+            }
+
+            ButtonKey other = (ButtonKey) obj;
+            return this.hash == other.hash
+                    && this.variant == other.variant
+                    && this.material == other.material
+                    && this.amount == other.amount
+                    && Objects.equals(this.title, other.title)
+                    && Objects.equals(this.lore, other.lore);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
 }
@@ -0,0 +1,392 @@
+package com.craftaro.core.gui;
+
+import com.craftaro.core.gui.events.GuiClickEvent;
+import com.craftaro.core.gui.events.GuiPageEvent;
+import com.craftaro.core.gui.methods.EntryClickable;
+import com.cryptomorin.xseries.XMaterial;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * Paged GUI for large amounts of entries that are provided by a {@link GuiDataSource}. <br>
+ * Only the entries of pages that are actually viewed are fetched and rendered,
+ * the next page is prefetched asynchronously and a few rendered pages are kept for browsing back and forth.
+ * <br><br>
+ * The last row is used for the page navigation, all other rows display the entries of the current page.
+ *
+ * @param <T> the type of the entries
+ */
+public class LazyPagedGui<T> extends Gui {
+    private static final int PREV_PAGE_OFFSET = 6, NEXT_PAGE_OFFSET = 4;
+
+    private final GuiDataSource<T> source;
+    private final Function<T, ItemStack> renderer;
+    private EntryClickable<T> entryClicker = null;
+    private int cachedPages = 3;
+    private final Map<Integer, CompletableFuture<RenderedPage<T>>> renderedPages = new LinkedHashMap<Integer, CompletableFuture<RenderedPage<T>>>(8, .75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<RenderedPage<T>>> eldest) {
+            return size() > LazyPagedGui.this.cachedPages;
+        }
+    };
+    private volatile RenderedPage<T> currentPage;
+
+    public LazyPagedGui(int rows, @NotNull GuiDataSource<T> source, @NotNull Function<T, ItemStack> renderer) {
+        this(rows, null, source, renderer);
+    }
+
+    public LazyPagedGui(int rows, @Nullable Gui parent, @NotNull GuiDataSource<T> source, @NotNull Function<T, ItemStack> renderer) {
+        super(Math.max(2, rows), parent);
+
+        this.source = source;
+        this.renderer = renderer;
+        this.nextPage = GuiUtils.createButtonItem(XMaterial.ARROW, "Next Page");
+        this.prevPage = GuiUtils.createButtonItem(XMaterial.ARROW, "Previous Page");
+    }
+
+    /**
+     * Set the action to run when an entry of the current page is clicked
+     *
+     * @param action the action to run, or null to remove it
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public LazyPagedGui<T> setEntryAction(@Nullable EntryClickable<T> action) {
+        this.entryClicker = action;
+        return this;
+    }
+
+    /**
+     * Set how many rendered pages are kept, including the current and the prefetched page
+     *
+     * @param cachedPages the number of pages to keep, at least 2
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public LazyPagedGui<T> setCachedPages(int cachedPages) {
+        synchronized (this.renderedPages) {
+            this.cachedPages = Math.max(2, cachedPages);
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of entries displayed on each page
+     */
+    public int getPageSize() {
+        return (this.rows - 1) * 9;
+    }
+
+    /**
+     * Get the entry displayed in a cell of the current page
+     *
+     * @param cell the cell of the inventory
+     *
+     * @return the entry or null if the cell is empty or the page is still loading
+     */
+    @Nullable
+    public T getEntry(int cell) {
+        RenderedPage<T> page = this.currentPage;
+
+        if (page == null || cell < 0 || cell >= page.entries.size()) {
+            return null;
+        }
+
+        return page.entries.get(cell);
+    }
+
+    /**
+     * Discard all rendered pages and fetch the number of entries and the current page again
+     */
+    public void refresh() {
+        synchronized (this.renderedPages) {
+            this.renderedPages.clear();
+        }
+
+        if (this.inventory == null || this.guiManager == null) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTaskAsynchronously(this.guiManager.getPlugin(), () -> {
+            int pages = countPages();
+            RenderedPage<T> rendered;
+            try {
+                rendered = loadPage(Math.min(this.page, pages), false).join();
+            } catch (CompletionException ex) {
+                // already logged by loadPage
+                Bukkit.getScheduler().runTask(this.guiManager.getPlugin(), () -> {
+                    if (this.inventory != null) {
+                        showEmptyPage();
+                    }
+                });
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(this.guiManager.getPlugin(), () -> {
+                this.pages = pages;
+                this.page = Math.min(this.page, pages);
+
+                if (this.page == rendered.page) {
+                    displayPage(rendered);
+                } else {
+                    showPage();
+                }
+            });
+        });
+    }
+
+    @Override
+    public void setPage(int page) {
+        switchPage(page);
+    }
+
+    @Override
+    public void changePage(int direction) {
+        switchPage(this.page + direction);
+    }
+
+    @Override
+    public void nextPage() {
+        switchPage(this.page + 1);
+    }
+
+    @Override
+    public void prevPage() {
+        switchPage(this.page - 1);
+    }
+
+    private void switchPage(int page) {
+        int lastPage = this.page;
+        this.page = Math.max(1, Math.min(this.pages, page));
+
+        if (this.page == lastPage) {
+            return;
+        }
+
+        if (this.pager != null) {
+            this.pager.onPageChange(new GuiPageEvent(this, this.guiManager, lastPage, this.page));
+        }
+
+        if (this.inventory != null) {
+            showPage();
+        }
+    }
+
+    private void showPage() {
+        final int page = this.page;
+        CompletableFuture<RenderedPage<T>> future = loadPage(page, true);
+        RenderedPage<T> rendered = future.getNow(null);
+
+        if (rendered != null) {
+            displayPage(rendered);
+            return;
+        }
+
+        // show an empty page until the entries are loaded, so clicks don't hit entries of the last page
+        showEmptyPage();
+
+        future.whenComplete((loaded, ex) -> Bukkit.getScheduler().runTask(this.guiManager.getPlugin(), () -> {
+            if (this.page != page || this.inventory == null) {
+                return;
+            }
+
+            if (loaded != null) {
+                displayPage(loaded);
+            } else {
+                // the error has been logged when loading, the page is fetched again on the next update
+                showEmptyPage();
+            }
+        }));
+    }
+
+    private void showEmptyPage() {
+        this.currentPage = null;
+        for (int i = 0; i < getPageSize(); ++i) {
+            updateInventoryItem(i, this.blankItem);
+        }
+        updatePageNavigation();
+    }
+
+    private void displayPage(RenderedPage<T> rendered) {
+        this.currentPage = rendered;
+
+        final int pageSize = getPageSize();
+        for (int i = 0; i < pageSize; ++i) {
+            updateInventoryItem(i, i < rendered.items.length ? rendered.items[i] : this.blankItem);
+        }
+
+        updatePageNavigation();
+
+        if (rendered.page < this.pages) {
+            loadPage(rendered.page + 1, true);
+        }
+    }
+
+    @Override
+    protected void updatePageNavigation() {
+        final int size = this.rows * 9;
+
+        if (this.page > 1) {
+            setButton(size - PREV_PAGE_OFFSET, this.prevPage, ClickType.LEFT, (event) -> this.prevPage());
+        } else {
+            setItem(size - PREV_PAGE_OFFSET, this.blankItem);
+            clearActions(size - PREV_PAGE_OFFSET);
+        }
+
+        if (this.page < this.pages) {
+            setButton(size - NEXT_PAGE_OFFSET, this.nextPage, ClickType.LEFT, (event) -> this.nextPage());
+        } else {
+            setItem(size - NEXT_PAGE_OFFSET, this.blankItem);
+            clearActions(size - NEXT_PAGE_OFFSET);
+        }
+    }
+
+    private CompletableFuture<RenderedPage<T>> loadPage(int page, boolean async) {
+        CompletableFuture<RenderedPage<T>> future;
+
+        synchronized (this.renderedPages) {
+            future = this.renderedPages.get(page);
+            if (future != null && !future.isCompletedExceptionally()) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            this.renderedPages.put(page, future);
+        }
+
+        final CompletableFuture<RenderedPage<T>> result = future;
+        Runnable task = () -> {
+            try {
+                result.complete(renderPage(page));
+            } catch (Throwable ex) {
+                this.guiManager.getPlugin().getLogger().log(Level.WARNING, "Failed to load page " + page + " of a Gui", ex);
+
+                // not kept, so the page is fetched again the next time it is shown
+                synchronized (this.renderedPages) {
+                    this.renderedPages.remove(page, result);
+                }
+                result.completeExceptionally(ex);
+            }
+        };
+
+        if (async) {
+            Bukkit.getScheduler().runTaskAsynchronously(this.guiManager.getPlugin(), task);
+        } else {
+            task.run();
+        }
+
+        return result;
+    }
+
+    private RenderedPage<T> renderPage(int page) {
+        final int pageSize = getPageSize();
+        List<T> entries = this.source.fetch((page - 1) * pageSize, pageSize);
+
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+        }
+
+        ItemStack[] items = new ItemStack[entries.size()];
+        for (int i = 0; i < items.length; ++i) {
+            items[i] = this.renderer.apply(entries.get(i));
+        }
+
+        return new RenderedPage<>(page, entries, items);
+    }
+
+    private int countPages() {
+        return Math.max(1, (int) Math.ceil(this.source.size() / (double) getPageSize()));
+    }
+
+    @Override
+    protected @NotNull Inventory generateInventory(@NotNull GuiManager manager) {
+        this.guiManager = manager;
+
+        this.pages = countPages();
+        this.page = Math.max(1, Math.min(this.page, this.pages));
+
+        createInventory();
+
+        final int size = this.rows * 9;
+        for (int i = getPageSize(); i < size; ++i) {
+            final ItemStack item = this.cellItems.get(i);
+            setInventoryItem(i, item != null ? item : this.blankItem);
+        }
+
+        // usually called asynchronously already, so the first page is loaded right away
+        try {
+            displayPage(loadPage(this.page, false).join());
+        } catch (CompletionException ex) {
+            // already logged by loadPage
+            showEmptyPage();
+        }
+
+        return this.inventory;
+    }
+
+    @Override
+    public void update() {
+        if (this.inventory == null) {
+            return;
+        }
+
+        final long start = startUpdateTiming();
+        try {
+            final int size = this.rows * 9;
+            for (int i = getPageSize(); i < size; ++i) {
+                final ItemStack item = this.cellItems.get(i);
+                updateInventoryItem(i, item != null ? item : this.blankItem);
+            }
+
+            RenderedPage<T> rendered = this.currentPage;
+            if (rendered != null && rendered.page == this.page) {
+                displayPage(rendered);
+            } else {
+                showPage();
+            }
+        } finally {
+            stopUpdateTiming(start);
+        }
+    }
+
+    @Override
+    protected boolean onClick(@NotNull GuiManager manager, @NotNull Player player, @NotNull Inventory inventory, @NotNull InventoryClickEvent event) {
+        final int cell = event.getSlot();
+        final T entry = cell < getPageSize() ? getEntry(cell) : null;
+
+        if (entry != null && this.entryClicker != null) {
+            this.entryClicker.onClick(new GuiClickEvent(manager, this, player, event, cell, true), entry);
+            return true;
+        }
+
+        return super.onClick(manager, player, inventory, event);
+    }
+
+    private static final class RenderedPage<T> {
+        final int page;
+        final List<T> entries;
+        final ItemStack[] items;
+
+        RenderedPage(int page, List<T> entries, ItemStack[] items) {
+            this.page = page;
+            this.entries = entries;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.craftaro.core.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A read-only Gui that is rendered once and shown to any number of players at the same time,
+ * e.g. leaderboards or browse pages. <br>
+ * All viewers share a single inventory, so {@link #update()} and {@link #setItem(int, org.bukkit.inventory.ItemStack)}
+ * are seen by all of them at once. Clicks are still handled per player, see {@link com.craftaro.core.gui.events.GuiClickEvent#player}.
+ * <br><br>
+ * The viewers are reference-counted: when the last viewer closes the Gui, the action set with
+ * {@link #setOnRelease(Runnable)} is run, e.g. to remove the Gui from a cache. A released Gui can still be opened again.
+ */
+public class SharedGui extends Gui {
+    private final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+    private Runnable releaser = null;
+
+    public SharedGui() {
+        super();
+    }
+
+    public SharedGui(@NotNull GuiType type) {
+        super(type);
+    }
+
+    public SharedGui(int rows) {
+        super(rows);
+    }
+
+    public SharedGui(int rows, @Nullable Gui parent) {
+        super(rows, parent);
+    }
+
+    /**
+     * Display this Gui to multiple players, sharing the same inventory
+     *
+     * @param manager the manager to open the Gui with
+     * @param players the players to open the Gui for
+     */
+    public void open(@NotNull GuiManager manager, @NotNull Collection<? extends Player> players) {
+        for (Player player : players) {
+            manager.showGUI(player, this);
+        }
+    }
+
+    /**
+     * @return the number of players currently viewing this Gui
+     */
+    public int getViewerCount() {
+        return this.viewers.size();
+    }
+
+    /**
+     * Set an action to run when the last viewer has closed this Gui
+     *
+     * @param action the action to run, or null to remove it
+     *
+     * @return this Gui
+     */
+    @NotNull
+    public SharedGui setOnRelease(@Nullable Runnable action) {
+        this.releaser = action;
+        return this;
+    }
+
+    /**
+     * Shared views are read-only, so this has no effect
+     */
+    @Override
+    public Gui setAcceptsItems(boolean acceptsItems) {
+        return this;
+    }
+
+    /**
+     * The release action is not copied, it usually belongs to this instance
+     */
+    @Override
+    protected @NotNull Gui newInstance() {
+        SharedGui instance = new SharedGui(this.inventoryType);
+        instance.copySettings(this);
+        return instance;
+    }
+
+    @Override
+    public void exit() {
+        boolean hadViewers = !this.viewers.isEmpty();
+        this.viewers.clear();
+
+        super.exit();
+
+        if (hadViewers) {
+            runReleaser();
+        }
+    }
+
+    @Override
+    protected boolean isUnlocked(int cell) {
+        // players must never be able to take items out of an inventory other players are looking at
+        return false;
+    }
+
+    @Override
+    protected synchronized @NotNull Inventory getOrCreateInventory(@NotNull GuiManager manager) {
+        // viewers are opened from separate async tasks, which must not create separate inventories
+        return super.getOrCreateInventory(manager);
+    }
+
+    @Override
+    public void onOpen(@NotNull GuiManager manager, @NotNull Player player) {
+        this.viewers.add(player.getUniqueId());
+        super.onOpen(manager, player);
+    }
+
+    @Override
+    public void onClose(@NotNull GuiManager manager, @NotNull Player player) {
+        if (!this.allowClose) {
+            // the Gui is shown to the player again, so they are still a viewer
+            super.onClose(manager, player);
+            return;
+        }
+
+        super.onClose(manager, player);
+        removeViewer(player);
+    }
+
+    @Override
+    void detach(@NotNull Player player) {
+        // other players may still be viewing this Gui, so only this player is detached
+        removeViewer(player);
+    }
+
+    @Override
+    boolean isAttached(@NotNull Player player) {
+        return this.viewers.contains(player.getUniqueId());
+    }
+
+    private void removeViewer(Player player) {
+        if (this.viewers.remove(player.getUniqueId()) && this.viewers.isEmpty()) {
+            this.open = false;
+
+            runReleaser();
+        }
+    }
+
+    /**
+     * Viewers are detached from the async task of {@link GuiManager#showGUI(Player, Gui)},
+     * the release action is always run on the main thread
+     */
+    private void runReleaser() {
+        Runnable releaser = this.releaser;
+        if (releaser == null) {
+            return;
+        }
+
+        if (Bukkit.isPrimaryThread() || this.guiManager == null) {
+            releaser.run();
+        } else {
+            Bukkit.getScheduler().runTask(this.guiManager.getPlugin(), () -> {
+                // a player may have opened this Gui again in the meantime
+                if (this.viewers.isEmpty()) {
+                    releaser.run();
+                }
+            });
+        }
+    }
+}
@@ -12,7 +12,6 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Paged GUI for when you aren't going to be making too many pages
@@ -70,7 +69,7 @@ public class SimplePagedGui extends Gui {
 
         this.cellItems.put(cellIndex, item);
         if (this.open && cell >= 0 && cell < this.inventory.getSize()) {
-            this.inventory.setItem(cell, item);
+            setInventoryItem(cell, item);
         }
 
         return this;
@@ -98,7 +97,7 @@ public class SimplePagedGui extends Gui {
 
         for (int i = startCell; i < (this.rows - 1) * 9; ++i) {
             final ItemStack item = this.cellItems.get(cellIndex++);
-            this.inventory.setItem(i, item != null ? item : this.blankItem);
+            updateInventoryItem(i, item != null ? item : this.blankItem);
         }
 
         // page markers
@@ -108,22 +107,22 @@ public class SimplePagedGui extends Gui {
     @Override
     protected void updatePageNavigation() {
         if (this.page > 1) {
-            this.inventory.setItem(this.inventory.getSize() - this.prevPageIndex, this.prevPage);
+            setInventoryItem(this.inventory.getSize() - this.prevPageIndex, this.prevPage);
 
             this.setButton(-this.prevPageIndex, this.prevPage, ClickType.LEFT, (event) -> this.prevPage());
         } else {
-            this.inventory.setItem(this.inventory.getSize() - this.prevPageIndex, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
+            setInventoryItem(this.inventory.getSize() - this.prevPageIndex, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
 
             this.setItem(-this.prevPageIndex, null);
             this.clearActions(-this.prevPageIndex);
         }
 
         if (this.pages > 1 && this.page != this.pages) {
-            this.inventory.setItem(this.inventory.getSize() - this.nextPageIndex, this.nextPage);
+            setInventoryItem(this.inventory.getSize() - this.nextPageIndex, this.nextPage);
 
             this.setButton(-this.nextPageIndex, this.nextPage, ClickType.LEFT, (event) -> this.nextPage());
         } else {
-            this.inventory.setItem(this.inventory.getSize() - this.nextPageIndex, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
+            setInventoryItem(this.inventory.getSize() - this.nextPageIndex, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
 
             this.setItem(-this.nextPageIndex, null);
             this.clearActions(-this.nextPageIndex);
@@ -165,66 +164,69 @@ public class SimplePagedGui extends Gui {
             return;
         }
 
-        // calculate pages here
-        this.rowsPerPage = this.useHeader ? 4 : 5;
-        this.maxCellSlot = (this.cellItems.isEmpty() ? 0 : this.cellItems.keySet().stream().max(Integer::compare).get()) + 1;
-        int maxRows = Math.max((this.useHeader ? 1 : 0), (int) Math.ceil(this.maxCellSlot / 9.));
-        this.pages = (int) Math.ceil(maxRows / this.rowsPerPage);
+        final long start = startUpdateTiming();
+        try {
+            // calculate pages here
+            this.rowsPerPage = this.useHeader ? 4 : 5;
+            this.maxCellSlot = (this.cellItems.isEmpty() ? 0 : this.cellItems.keySet().stream().max(Integer::compare).get()) + 1;
+            int maxRows = Math.max((this.useHeader ? 1 : 0), (int) Math.ceil(this.maxCellSlot / 9.));
+            this.pages = (int) Math.ceil(maxRows / this.rowsPerPage);
 
-        // create a new inventory if needed
-        List<Player> toUpdate = null;
-        if (Math.min(54, (maxRows + (this.useHeader ? 1 : 0)) * 9) != this.inventory.getSize()) {
-            toUpdate = getPlayers();
+            // create a new inventory if needed
+            List<Player> toUpdate = null;
+            if (Math.min(54, (maxRows + (this.useHeader ? 1 : 0)) * 9) != this.inventory.getSize()) {
+                toUpdate = getPlayers();
 
-            this.setRows(maxRows + (this.useHeader ? 1 : 0));
+                this.setRows(maxRows + (this.useHeader ? 1 : 0));
 
-            createInventory();
-        }
+                createInventory();
+            }
 
-        // populate header
-        if (this.useHeader) {
-            for (int i = 0; i < 9; ++i) {
-                final ItemStack item = this.cellItems.get(i);
+            // populate header
+            if (this.useHeader) {
+                for (int i = 0; i < 9; ++i) {
+                    final ItemStack item = this.cellItems.get(i);
 
-                this.inventory.setItem(i, item != null ? item : (this.headerBackItem != null ? this.headerBackItem : this.blankItem));
+                    updateInventoryItem(i, item != null ? item : (this.headerBackItem != null ? this.headerBackItem : this.blankItem));
+                }
             }
-        }
 
-        // the last row is dedicated to pagination
-        final int cells = this.rows * 9;
-        for (int i = cells - 9; i < cells; ++i) {
-            this.inventory.setItem(i, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
-        }
+            // the last row is dedicated to pagination
+            final int cells = this.rows * 9;
+            for (int i = cells - 9; i < cells; ++i) {
+                updateInventoryItem(i, this.footerBackItem != null ? this.footerBackItem : this.blankItem);
+            }
 
-        // fill out the rest of the page
-        showPage();
+            // fill out the rest of the page
+            showPage();
 
-        // did we need to change the display window size?
-        if (toUpdate != null) {
-            // whoopsie!
-            exit();
-            toUpdate.forEach(player -> this.guiManager.showGUI(player, this));
+            // did we need to change the display window size?
+            if (toUpdate != null) {
+                // whoopsie!
+                exit();
+                toUpdate.forEach(player -> this.guiManager.showGUI(player, this));
+            }
+        } finally {
+            stopUpdateTiming(start);
         }
     }
 
     @Override
     protected boolean onClick(@NotNull GuiManager manager, @NotNull Player player, @NotNull Inventory inventory, InventoryClickEvent event) {
         int cell = event.getSlot();
-        Map<ClickType, Clickable> conditionals;
+        Clickable button;
 
         if (this.useHeader && cell < 9) {
-            conditionals = this.conditionalButtons.get(cell);
+            button = getClickAction(cell, event.getClick());
         } else if (cell >= (this.rows - 1) * 9) {
             // footer row
-            conditionals = this.conditionalButtons.get(cell - (this.rows * 9));
+            button = getClickAction(cell - (this.rows * 9), event.getClick());
         } else {
             int cellIndex = this.page == 1 ? cell : cell + (this.page - 1) * this.rowsPerPage * 9;
-            conditionals = this.conditionalButtons.get(cellIndex);
+            button = getClickAction(cellIndex, event.getClick());
         }
 
-        Clickable button;
-        if (conditionals != null
-                && ((button = conditionals.get(event.getClick())) != null || (button = conditionals.get(null)) != null)) {
+        if (button != null) {
             button.onClick(new GuiClickEvent(manager, this, player, event, cell, true));
         } else {
             // no event for this button
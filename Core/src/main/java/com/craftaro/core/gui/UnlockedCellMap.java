@@ -0,0 +1,44 @@
+package com.craftaro.core.gui;
+
+import java.util.BitSet;
+
+/**
+ * Internal map of the unlocked cells of a {@link Gui}. <br>
+ * The unlocked cells of an inventory are also kept in a bit set, so checking a cell on every click
+ * is a single bit lookup. Other cells (e.g. negative cells) are looked up in the map.
+ */
+class UnlockedCellMap extends CellMap<Boolean> {
+    private final BitSet unlocked = new BitSet(27);
+
+    boolean isUnlocked(int cell) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            return this.unlocked.get(cell);
+        }
+
+        return Boolean.TRUE.equals(get(cell));
+    }
+
+    @Override
+    public Boolean put(int cell, Boolean value) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            this.unlocked.set(cell, Boolean.TRUE.equals(value));
+        }
+
+        return super.put(cell, value);
+    }
+
+    @Override
+    public Boolean remove(int cell) {
+        if (cell >= 0 && cell < MAX_ARRAY_CELLS) {
+            this.unlocked.clear(cell);
+        }
+
+        return super.remove(cell);
+    }
+
+    @Override
+    public void clear() {
+        this.unlocked.clear();
+        super.clear();
+    }
+}
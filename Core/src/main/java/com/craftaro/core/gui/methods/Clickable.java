@@ -4,4 +4,16 @@ import com.craftaro.core.gui.events.GuiClickEvent;
 
 public interface Clickable {
     void onClick(GuiClickEvent event);
+
+    /**
+     * Wrap an action so it runs at most once per player within a time window
+     *
+     * @param windowMillis the minimum time between two runs for the same player
+     * @param action       the action to run
+     *
+     * @return the debounced action
+     */
+    static Clickable debounce(long windowMillis, Clickable action) {
+        return new DebouncedClickable(windowMillis, action);
+    }
 }
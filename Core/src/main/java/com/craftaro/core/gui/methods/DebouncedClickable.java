@@ -0,0 +1,51 @@
+package com.craftaro.core.gui.methods;
+
+import com.craftaro.core.gui.events.GuiClickEvent;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Runs a click action at most once per player within a time window, dropping all clicks in between. <br>
+ * Useful for actions that access a database or an economy plugin.
+ */
+public class DebouncedClickable implements Clickable {
+    private final Clickable action;
+    private final long windowMillis;
+    private final Map<Player, Long> lastRun = new WeakHashMap<>();
+    private long droppedClicks;
+
+    /**
+     * @param windowMillis the minimum time between two runs of the action for the same player
+     * @param action       the action to run
+     */
+    public DebouncedClickable(long windowMillis, Clickable action) {
+        this.action = action;
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void onClick(GuiClickEvent event) {
+        final long now = System.currentTimeMillis();
+
+        synchronized (this.lastRun) {
+            Long last = this.lastRun.get(event.player);
+            if (last != null && now - last < this.windowMillis) {
+                ++this.droppedClicks;
+                return;
+            }
+
+            this.lastRun.put(event.player, now);
+        }
+
+        this.action.onClick(event);
+    }
+
+    /**
+     * @return the number of clicks that have been dropped so far
+     */
+    public long getDroppedClicks() {
+        return this.droppedClicks;
+    }
+}
@@ -0,0 +1,7 @@
+package com.craftaro.core.gui.methods;
+
+import com.craftaro.core.gui.events.GuiClickEvent;
+
+public interface EntryClickable<T> {
+    void onClick(GuiClickEvent event, T entry);
+}
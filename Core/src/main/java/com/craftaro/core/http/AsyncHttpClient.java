@@ -0,0 +1,370 @@
+package com.craftaro.core.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link HttpClient} that runs requests in the background and returns {@link CompletableFuture}s. <br>
+ * Requests are sent by another client (a {@link SimpleHttpClient} by default), this client adds:
+ * <ul>
+ *     <li>a limit of concurrent requests per host, further requests wait in a queue without blocking a thread</li>
+ *     <li>a cache for GET responses that respects {@code Cache-Control} and revalidates them using {@code ETag} and {@code Last-Modified}</li>
+ *     <li>retries with exponential backoff for failed connections and the status codes 429, 502, 503 and 504 of idempotent requests</li>
+ * </ul>
+ * Responses are read completely before the future completes, which allows the underlying connection to be reused.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * AsyncHttpClient client = new AsyncHttpClient();
+ * client.getAsync("https://example.com/version.json")
+ *         .thenAccept(response -> ...);
+ * }</pre>
+ */
+public class AsyncHttpClient implements HttpClient {
+    private static final int CACHE_SIZE = 256;
+    private static final long BASE_RETRY_DELAY = 500;
+    private static final long MAX_RETRY_DELAY = 30_000;
+
+    private final HttpClient transport;
+    private final int maxRequestsPerHost;
+    private final int maxRetries;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+    private final Cache<String, CacheEntry> cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+    public AsyncHttpClient() {
+        this(new SimpleHttpClient(), 4, 2);
+    }
+
+    /**
+     * @param transport          sends the actual requests, it is called from background threads
+     * @param maxRequestsPerHost how many requests to the same host may run at the same time
+     * @param maxRetries         how often a failed request is retried, 0 to disable retries
+     */
+    public AsyncHttpClient(@NotNull HttpClient transport, int maxRequestsPerHost, int maxRetries) {
+        if (maxRequestsPerHost < 1) {
+            throw new IllegalArgumentException("maxRequestsPerHost must be at least 1");
+        }
+
+        this.transport = transport;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.maxRetries = Math.max(0, maxRetries);
+
+        this.executor = Executors.newCachedThreadPool(createThreadFactory("CraftaroCore-Http"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(createThreadFactory("CraftaroCore-HttpRetry"));
+    }
+
+    public @NotNull CompletableFuture<HttpResponse> getAsync(String url) {
+        return requestAsync("GET", url, null, null);
+    }
+
+    public @NotNull CompletableFuture<HttpResponse> requestAsync(String method, String url, @Nullable Map<String, String> headers, byte[] body) {
+        final Request request;
+        try {
+            request = new Request(method, url, headers, body);
+        } catch (MalformedURLException ex) {
+            CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+            result.completeExceptionally(ex);
+            return result;
+        }
+
+        if (request.cacheKey != null) {
+            CacheEntry entry = this.cache.getIfPresent(request.cacheKey);
+            if (entry != null && entry.isFresh()) {
+                return CompletableFuture.completedFuture(entry.response);
+            }
+        }
+
+        CompletableFuture<HttpResponse> result = new CompletableFuture<>();
+        attempt(request, 0, result);
+        return result;
+    }
+
+    /**
+     * Sends the request and waits for the response.
+     * Prefer {@link #requestAsync(String, String, Map, byte[])} to not block the calling thread.
+     */
+    @Override
+    public @NotNull HttpResponse request(String method, String url, Map<String, String> headers, byte[] body) throws IOException {
+        try {
+            return requestAsync(method, url, headers, body).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + url, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    public void invalidateCache() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Stops the background threads, pending requests are not sent anymore
+     */
+    public void shutdown() {
+        this.retryScheduler.shutdownNow();
+        this.executor.shutdownNow();
+    }
+
+    private void attempt(Request request, int attempt, CompletableFuture<HttpResponse> result) {
+        submit(request.host, () -> {
+            BufferedHttpResponse response;
+            try {
+                response = execute(request);
+            } catch (IOException ex) {
+                if (!retry(request, attempt, result, null)) {
+                    result.completeExceptionally(ex);
+                }
+                return;
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+
+            if (!isRetryableStatus(response.getResponseCode()) || !retry(request, attempt, result, response)) {
+                result.complete(response);
+            }
+        });
+    }
+
+    private boolean retry(Request request, int attempt, CompletableFuture<HttpResponse> result, @Nullable HttpResponse response) {
+        if (attempt >= this.maxRetries || !request.idempotent || this.retryScheduler.isShutdown()) {
+            return false;
+        }
+
+        long delay = Math.min(MAX_RETRY_DELAY, BASE_RETRY_DELAY << attempt);
+        if (response != null) {
+            try {
+                String retryAfter = response.getHeader("Retry-After");
+                if (retryAfter != null) {
+                    delay = Math.min(MAX_RETRY_DELAY, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+                }
+            } catch (IOException | NumberFormatException ignored) {
+                // Retry-After may also be an HTTP date, the backoff is used instead
+            }
+        }
+
+        this.retryScheduler.schedule(() -> attempt(request, attempt + 1, result), delay, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private BufferedHttpResponse execute(Request request) throws IOException {
+        CacheEntry cached = request.cacheKey != null ? this.cache.getIfPresent(request.cacheKey) : null;
+        if (cached != null && cached.isFresh()) {
+            return cached.response;
+        }
+
+        Map<String, String> headers = request.headers;
+        if (cached != null && (cached.etag != null || cached.lastModified != null)) {
+            headers = new HashMap<>(request.headers);
+
+            if (cached.etag != null) {
+                headers.put("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                headers.put("If-Modified-Since", cached.lastModified);
+            }
+        }
+
+        HttpResponse rawResponse = this.transport.request(request.method, request.url, headers, request.body);
+        BufferedHttpResponse response = new BufferedHttpResponse(rawResponse.getResponseCode(), rawResponse.getBody(), rawResponse.getHeaders());
+
+        if (request.cacheKey == null) {
+            return response;
+        }
+
+        if (response.getResponseCode() == 304 && cached != null) {
+            // the cached response is still valid, the new headers tell for how long
+            this.cache.put(request.cacheKey, cached.revalidated(response));
+            return cached.response;
+        }
+
+        if (response.getResponseCode() == 200) {
+            CacheEntry entry = CacheEntry.of(response);
+            if (entry != null) {
+                this.cache.put(request.cacheKey, entry);
+            } else {
+                this.cache.invalidate(request.cacheKey);
+            }
+        }
+
+        return response;
+    }
+
+    private void submit(String host, Runnable task) {
+        HostQueue queue = this.hostQueues.computeIfAbsent(host, key -> new HostQueue());
+
+        synchronized (queue) {
+            if (queue.running >= this.maxRequestsPerHost) {
+                queue.waiting.add(task);
+                return;
+            }
+
+            ++queue.running;
+        }
+
+        this.executor.execute(() -> run(queue, task));
+    }
+
+    private void run(HostQueue queue, Runnable task) {
+        try {
+            task.run();
+        } finally {
+            Runnable next;
+            synchronized (queue) {
+                next = queue.waiting.poll();
+                if (next == null) {
+                    --queue.running;
+                }
+            }
+
+            if (next != null) {
+                this.executor.execute(() -> run(queue, next));
+            }
+        }
+    }
+
+    private static boolean isRetryableStatus(int responseCode) {
+        return responseCode == 429 || responseCode == 502 || responseCode == 503 || responseCode == 504;
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Request {
+        final String method;
+        final String url;
+        final String host;
+        final Map<String, String> headers;
+        final byte[] body;
+        final boolean idempotent;
+        /**
+         * Null if the response must not be cached
+         */
+        final String cacheKey;
+
+        Request(String method, String url, Map<String, String> headers, byte[] body) throws MalformedURLException {
+            this.method = method.toUpperCase();
+            this.url = url;
+            this.host = new URL(url).getAuthority();
+            this.headers = headers != null ? headers : new HashMap<>(0);
+            this.body = body;
+            this.idempotent = !this.method.equals("POST") && !this.method.equals("PATCH");
+
+            boolean cacheable = this.method.equals("GET") && (body == null || body.length == 0);
+            // headers like Authorization may change the response
+            this.cacheKey = cacheable ? url + " " + new TreeMap<>(this.headers) : null;
+        }
+    }
+
+    private static final class HostQueue {
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+    }
+
+    private static final class CacheEntry {
+        final BufferedHttpResponse response;
+        final String etag;
+        final String lastModified;
+        final long freshUntil;
+
+        private CacheEntry(BufferedHttpResponse response, String etag, String lastModified, long freshUntil) {
+            this.response = response;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshUntil = freshUntil;
+        }
+
+        /**
+         * @return the entry to cache, or null if the response must not be cached
+         */
+        static CacheEntry of(BufferedHttpResponse response) throws IOException {
+            String etag = response.getHeader("ETag");
+            String lastModified = response.getHeader("Last-Modified");
+            long maxAge = parseMaxAge(response.getHeader("Cache-Control"));
+
+            if (maxAge < 0 || (maxAge == 0 && etag == null && lastModified == null)) {
+                return null;
+            }
+
+            return new CacheEntry(response, etag, lastModified, System.currentTimeMillis() + maxAge);
+        }
+
+        CacheEntry revalidated(HttpResponse notModified) throws IOException {
+            long maxAge = parseMaxAge(notModified.getHeader("Cache-Control"));
+            String etag = notModified.getHeader("ETag");
+
+            return new CacheEntry(this.response,
+                    etag != null ? etag : this.etag,
+                    this.lastModified,
+                    System.currentTimeMillis() + Math.max(0, maxAge));
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < this.freshUntil;
+        }
+
+        /**
+         * @return the max-age in milliseconds, 0 if the response has to be revalidated and -1 if it must not be stored
+         */
+        private static long parseMaxAge(String cacheControl) {
+            if (cacheControl == null) {
+                return 0;
+            }
+
+            long maxAge = 0;
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+
+                if (directive.equals("no-store")) {
+                    return -1;
+                }
+                if (directive.equals("no-cache")) {
+                    return 0;
+                }
+                if (directive.startsWith("max-age=")) {
+                    try {
+                        maxAge = TimeUnit.SECONDS.toMillis(Long.parseLong(directive.substring(8).replace("\"", "")));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+
+            return Math.max(0, maxAge);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.craftaro.core.http;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A response that has been read completely, so it can be cached and shared between threads
+ */
+final class BufferedHttpResponse implements HttpResponse {
+    private final int responseCode;
+    private final byte[] body;
+    private final Map<String, String> headers;
+
+    BufferedHttpResponse(int responseCode, byte[] body, Map<String, String> headers) {
+        Map<String, String> headersCopy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headersCopy.putAll(headers);
+
+        this.responseCode = responseCode;
+        this.body = body != null ? body : new byte[0];
+        this.headers = Collections.unmodifiableMap(headersCopy);
+    }
+
+    @Override
+    public int getResponseCode() {
+        return this.responseCode;
+    }
+
+    @Override
+    public byte[] getBody() {
+        return this.body;
+    }
+
+    @Override
+    public String getBodyAsString() {
+        return new String(this.body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @NotNull Map<String, String> getHeaders() {
+        return this.headers;
+    }
+}
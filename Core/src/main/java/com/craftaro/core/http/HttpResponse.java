@@ -1,6 +1,11 @@
 package com.craftaro.core.http;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
 
 public interface HttpResponse {
     int getResponseCode() throws IOException;
@@ -8,4 +13,15 @@ public interface HttpResponse {
     byte[] getBody() throws IOException;
 
     String getBodyAsString() throws IOException;
+
+    /**
+     * @return the response headers with case-insensitive names, multiple values of a header are joined by a comma
+     */
+    default @NotNull Map<String, String> getHeaders() throws IOException {
+        return Collections.emptyMap();
+    }
+
+    default @Nullable String getHeader(String name) throws IOException {
+        return getHeaders().get(name);
+    }
 }
@@ -5,11 +5,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class HttpResponseImpl implements HttpResponse, AutoCloseable {
     protected final HttpURLConnection connection;
 
     protected byte[] body;
+    protected Map<String, String> headers;
 
     HttpResponseImpl(HttpURLConnection connection) throws IOException {
         this.connection = connection;
@@ -48,6 +52,24 @@ public class HttpResponseImpl implements HttpResponse, AutoCloseable {
         return new String(getBody(), StandardCharsets.UTF_8);
     }
 
+    @Override
+    public Map<String, String> getHeaders() throws IOException {
+        if (this.headers == null) {
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+            for (Map.Entry<String, List<String>> entry : this.connection.getHeaderFields().entrySet()) {
+                // the status line is stored without a name
+                if (entry.getKey() != null) {
+                    headers.put(entry.getKey(), String.join(", ", entry.getValue()));
+                }
+            }
+
+            this.headers = headers;
+        }
+
+        return this.headers;
+    }
+
     @Override
     public void close() throws Exception {
         this.connection.disconnect();
@@ -1,60 +1,237 @@
 package com.craftaro.core.http.minecraft;
 
 import com.craftaro.core.SongodaCore;
+import com.craftaro.core.http.AsyncHttpClient;
 import com.craftaro.core.http.HttpClient;
 import com.craftaro.core.http.HttpResponse;
+import com.craftaro.core.http.UnexpectedHttpStatusException;
 import com.google.gson.Gson;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MinecraftApiClient {
     private static final String SPRAX_API_URL = "https://api.sprax2013.de/mc/profile/";
     private static final String MOJANG_API_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
 
     private final Gson gson = new Gson();
     private final HttpClient httpClient;
+    private final @Nullable ProfileStore profileStore;
+    private final Map<UUID, CompletableFuture<UuidToProfileResult>> pendingRequests = new ConcurrentHashMap<>();
 
-    private long nextSpraxApiRequestAllowed = 0;
+    private volatile long nextSpraxApiRequestAllowed = 0;
 
     public MinecraftApiClient(HttpClient httpClient) {
+        this(httpClient, null);
+    }
+
+    /**
+     * @param profileStore remembers fetched profiles, so they are only requested again after they expired
+     */
+    public MinecraftApiClient(HttpClient httpClient, @Nullable ProfileStore profileStore) {
         this.httpClient = httpClient;
+        this.profileStore = profileStore;
     }
 
+    /**
+     * Fetches the profile of a UUID. Concurrent calls for the same UUID share a single request.
+     *
+     * @return the profile, or null if there is no profile for the UUID.
+     * Completes exceptionally if the request failed or the API answered with an unexpected status code.
+     */
     public CompletableFuture<@Nullable UuidToProfileResult> fetchProfile(UUID uuid) {
+        ProfileStore.Entry entry = this.profileStore != null ? this.profileStore.getIfLoaded(uuid) : null;
+        if (entry != null) {
+            return CompletableFuture.completedFuture(entry.getProfile());
+        }
+
+        CompletableFuture<UuidToProfileResult> request = new CompletableFuture<>();
+        CompletableFuture<UuidToProfileResult> pendingRequest = this.pendingRequests.putIfAbsent(uuid, request);
+        if (pendingRequest != null) {
+            return pendingRequest;
+        }
+
+        // the request may complete right away, so it is started after registering it
+        requestProfile(uuid).whenComplete((profile, ex) -> {
+            // failed requests are not stored, only profiles and UUIDs confirmed to have none
+            if (ex == null && this.profileStore != null) {
+                this.profileStore.put(uuid, profile);
+            }
+            this.pendingRequests.remove(uuid, request);
+
+            if (ex != null) {
+                request.completeExceptionally(ex);
+            } else {
+                request.complete(profile);
+            }
+        });
+
+        return request;
+    }
+
+    /**
+     * Fetches many profiles, e.g. to prefetch all players shown on a leaderboard. <br>
+     * Profiles in the {@link ProfileStore} are not requested again and at most
+     * {@value #MAX_CONCURRENT_REQUESTS} profiles are requested at the same time.
+     *
+     * @return the found profiles by UUID, UUIDs without a profile or with a failed request are missing
+     */
+    public CompletableFuture<Map<UUID, UuidToProfileResult>> fetchProfiles(Collection<UUID> uuids) {
+        Map<UUID, UuidToProfileResult> profiles = new ConcurrentHashMap<>();
+        Queue<UUID> missing = new ConcurrentLinkedQueue<>();
+
+        for (UUID uuid : new LinkedHashSet<>(uuids)) {
+            ProfileStore.Entry entry = this.profileStore != null ? this.profileStore.getIfLoaded(uuid) : null;
+
+            if (entry == null) {
+                missing.add(uuid);
+            } else if (entry.getProfile() != null) {
+                profiles.put(uuid, entry.getProfile());
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(profiles);
+        }
+
+        CompletableFuture<Map<UUID, UuidToProfileResult>> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(missing.size());
+
+        for (int i = Math.min(MAX_CONCURRENT_REQUESTS, missing.size()); i > 0; --i) {
+            fetchNextProfile(missing, profiles, remaining, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Fetches the next profile of the queue and continues with the following one when it is done
+     */
+    private void fetchNextProfile(Queue<UUID> missing, Map<UUID, UuidToProfileResult> profiles,
+                                  AtomicInteger remaining, CompletableFuture<Map<UUID, UuidToProfileResult>> result) {
+        UUID uuid = missing.poll();
+        if (uuid == null) {
+            return;
+        }
+
+        fetchProfile(uuid).whenComplete((profile, ex) -> {
+            if (profile != null) {
+                profiles.put(uuid, profile);
+            }
+
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(profiles);
+            } else {
+                fetchNextProfile(missing, profiles, remaining, result);
+            }
+        });
+    }
+
+    private CompletableFuture<@Nullable UuidToProfileResult> requestProfile(UUID uuid) {
+        if (this.httpClient instanceof AsyncHttpClient) {
+            // no thread has to wait for the response
+            return requestProfileAsync((AsyncHttpClient) this.httpClient, uuid);
+        }
+
         return CompletableFuture.supplyAsync(() -> {
-            HttpResponse profileResponse;
             try {
-                if (this.nextSpraxApiRequestAllowed <= System.currentTimeMillis()) {
+                if (this.nextSpraxApiRequestAllowed > System.currentTimeMillis()) {
                     throw new IOException("Not allowed to use SpraxAPI");
                 }
 
                 this.nextSpraxApiRequestAllowed = 0;
-                profileResponse = this.httpClient.get(SPRAX_API_URL + uuid);
+                String url = SPRAX_API_URL + uuid;
+                return parseProfile(this.httpClient.get(url), url);
             } catch (IOException ignored) {
                 try {
-                    profileResponse = this.httpClient.get(MOJANG_API_URL + uuid.toString().replace("-", ""));
+                    String url = MOJANG_API_URL + uuid.toString().replace("-", "");
+                    UuidToProfileResult profile = parseProfile(this.httpClient.get(url), url);
 
                     if (this.nextSpraxApiRequestAllowed <= System.currentTimeMillis()) {
                         this.nextSpraxApiRequestAllowed = System.currentTimeMillis() + 1000 * 60 * 5;
                         SongodaCore.getLogger().warning("Error contacting api.sprax2013.de while sessionserver.mojang.com is working. Not using SpraxAPI for the next 5 minutes...");
                     }
+
+                    return profile;
                 } catch (IOException ex) {
-                    throw new RuntimeException(ex);
+                    throw new CompletionException(ex);
                 }
             }
+        });
+    }
 
-            try {
-                if (profileResponse.getResponseCode() == 404 || profileResponse.getResponseCode() == 204) {
-                    return null;
-                }
+    /**
+     * Same as the blocking requests of {@link #requestProfile(UUID)}: SpraxAPI is tried first if allowed,
+     * falling back to Mojang's API if the request fails or is answered with an unexpected status code
+     */
+    private CompletableFuture<@Nullable UuidToProfileResult> requestProfileAsync(AsyncHttpClient asyncHttpClient, UUID uuid) {
+        if (this.nextSpraxApiRequestAllowed > System.currentTimeMillis()) {
+            return requestMojangProfileAsync(asyncHttpClient, uuid);
+        }
 
-                return this.gson.fromJson(profileResponse.getBodyAsString(), UuidToProfileResult.class);
-            } catch (IOException ex) {
-                throw new RuntimeException(ex);
-            }
-        });
+        this.nextSpraxApiRequestAllowed = 0;
+        String url = SPRAX_API_URL + uuid;
+        return asyncHttpClient.getAsync(url)
+                .handle((response, ex) -> {
+                    if (ex == null) {
+                        try {
+                            return CompletableFuture.completedFuture(parseProfile(response, url));
+                        } catch (IOException ignored) {
+                            // e.g. rate limited, Mojang's API is asked instead
+                        }
+                    }
+
+                    return requestMojangProfileAsync(asyncHttpClient, uuid);
+                })
+                .thenCompose(profile -> profile);
+    }
+
+    private CompletableFuture<@Nullable UuidToProfileResult> requestMojangProfileAsync(AsyncHttpClient asyncHttpClient, UUID uuid) {
+        String url = MOJANG_API_URL + uuid.toString().replace("-", "");
+        return asyncHttpClient.getAsync(url)
+                .thenApply(response -> {
+                    UuidToProfileResult profile;
+                    try {
+                        profile = parseProfile(response, url);
+                    } catch (IOException ex) {
+                        throw new CompletionException(ex);
+                    }
+
+                    if (this.nextSpraxApiRequestAllowed <= System.currentTimeMillis()) {
+                        this.nextSpraxApiRequestAllowed = System.currentTimeMillis() + 1000 * 60 * 5;
+                        SongodaCore.getLogger().warning("Error contacting api.sprax2013.de while sessionserver.mojang.com is working. Not using SpraxAPI for the next 5 minutes...");
+                    }
+
+                    return profile;
+                });
+    }
+
+    /**
+     * @return the profile, or null if the API confirmed that there is none
+     *
+     * @throws UnexpectedHttpStatusException for any other status code,
+     *                                       so rate limits and server errors are not mistaken for missing profiles
+     */
+    private @Nullable UuidToProfileResult parseProfile(HttpResponse profileResponse, String url) throws IOException {
+        final int responseCode = profileResponse.getResponseCode();
+        if (responseCode == 404 || responseCode == 204) {
+            return null;
+        }
+        if (responseCode != 200) {
+            throw new UnexpectedHttpStatusException(responseCode, url);
+        }
+
+        return this.gson.fromJson(profileResponse.getBodyAsString(), UuidToProfileResult.class);
     }
 }
@@ -0,0 +1,280 @@
+package com.craftaro.core.http.minecraft;
+
+import com.craftaro.core.SongodaCore;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Remembers the profiles fetched by a {@link MinecraftApiClient}, so they are not requested again
+ * after every restart. <br>
+ * The least recently used profiles are dropped once the store is full. UUIDs without a profile are
+ * remembered as well, but for a shorter time, so unknown players do not cause a request every time.
+ * <br><br>
+ * The store is loaded from its file on first use, or in the background by {@link #loadAsync()}, and saved in the background {@value #SAVE_DELAY_SECONDS} seconds
+ * after a change, so a burst of changes is written once.
+ */
+public class ProfileStore {
+    private static final Gson GSON = new Gson();
+    private static final long SAVE_DELAY_SECONDS = 30;
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("CraftaroCore-ProfileStore").setDaemon(true).build());
+
+    private final File file;
+    private final long ttl;
+    private final long unknownTtl;
+    private final int maxEntries;
+
+    private final Map<UUID, Entry> entries;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final AtomicBoolean loadScheduled = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    /**
+     * Creates a store keeping up to 10,000 profiles for 3 days and unknown UUIDs for 1 hour
+     *
+     * @param file the file to save the profiles in, or null to only keep them in memory
+     */
+    public ProfileStore(@Nullable File file) {
+        this(file, TimeUnit.DAYS.toMillis(3), TimeUnit.HOURS.toMillis(1), 10_000);
+    }
+
+    /**
+     * @param file       the file to save the profiles in, or null to only keep them in memory
+     * @param ttl        how long a profile is used in milliseconds
+     * @param unknownTtl how long a UUID without a profile is remembered in milliseconds
+     * @param maxEntries how many profiles are kept at most
+     */
+    public ProfileStore(@Nullable File file, long ttl, long unknownTtl, int maxEntries) {
+        this.file = file;
+        this.ttl = ttl;
+        this.unknownTtl = unknownTtl;
+        this.maxEntries = maxEntries;
+
+        this.entries = new LinkedHashMap<UUID, Entry>(64, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > ProfileStore.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return the stored entry, or null if the UUID is unknown to the store or the entry expired
+     */
+    public @Nullable Entry get(@NotNull UUID uuid) {
+        load();
+
+        synchronized (this.entries) {
+            Entry entry = this.entries.get(uuid);
+            if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+                this.entries.remove(uuid);
+                return null;
+            }
+
+            return entry;
+        }
+    }
+
+    /**
+     * Same as {@link #get(UUID)}, but never waits for the file to be read. <br>
+     * Until the store is loaded every UUID is unknown and loading is started in the background.
+     *
+     * @return the stored entry, or null if the UUID is unknown to the store, the entry expired or the store is not loaded yet
+     */
+    public @Nullable Entry getIfLoaded(@NotNull UUID uuid) {
+        if (!this.loaded && this.file != null) {
+            loadAsync();
+            return null;
+        }
+
+        return get(uuid);
+    }
+
+    /**
+     * @param profile the fetched profile, or null if there is no profile for the UUID
+     */
+    public void put(@NotNull UUID uuid, @Nullable UuidToProfileResult profile) {
+        load();
+
+        synchronized (this.entries) {
+            this.entries.put(uuid, new Entry(profile, System.currentTimeMillis()));
+        }
+
+        scheduleSave();
+    }
+
+    public void invalidate(@NotNull UUID uuid) {
+        load();
+
+        synchronized (this.entries) {
+            this.entries.remove(uuid);
+        }
+
+        scheduleSave();
+    }
+
+    public int size() {
+        load();
+
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Writes the store to its file on the calling thread, e.g. when the plugin is disabled
+     */
+    public void save() {
+        if (this.file == null || !this.loaded) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        List<StoredEntry> storedEntries;
+
+        synchronized (this.entries) {
+            storedEntries = new ArrayList<>(this.entries.size());
+
+            for (Map.Entry<UUID, Entry> entry : this.entries.entrySet()) {
+                if (!isExpired(entry.getValue(), now)) {
+                    storedEntries.add(new StoredEntry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+
+        synchronized (this.file) {
+            try {
+                File tmpFile = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+                Files.createDirectories(this.file.getParentFile().toPath());
+
+                try (Writer writer = Files.newBufferedWriter(tmpFile.toPath(), StandardCharsets.UTF_8)) {
+                    GSON.toJson(storedEntries, writer);
+                }
+
+                Files.move(tmpFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                SongodaCore.getLogger().log(Level.WARNING, "Failed to save the profile store " + this.file.getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the file in the background, so the first lookup does not have to
+     */
+    public void loadAsync() {
+        if (!this.loaded && this.loadScheduled.compareAndSet(false, true)) {
+            EXECUTOR.execute(this::loadFile);
+        }
+    }
+
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.fetchedAt > (entry.profile == null ? this.unknownTtl : this.ttl);
+    }
+
+    private void scheduleSave() {
+        if (this.file != null && this.saveScheduled.compareAndSet(false, true)) {
+            EXECUTOR.schedule(() -> {
+                // reset before reading the entries, so changes made during the save schedule another one
+                this.saveScheduled.set(false);
+                save();
+            }, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void load() {
+        if (!this.loaded) {
+            loadFile();
+        }
+    }
+
+    private synchronized void loadFile() {
+        if (this.loaded) {
+            return;
+        }
+
+        if (this.file != null && this.file.exists()) {
+            final long now = System.currentTimeMillis();
+
+            try (Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8)) {
+                List<StoredEntry> storedEntries = GSON.fromJson(reader, new TypeToken<List<StoredEntry>>() {
+                }.getType());
+
+                if (storedEntries != null) {
+                    synchronized (this.entries) {
+                        for (StoredEntry storedEntry : storedEntries) {
+                            Entry entry = new Entry(storedEntry.profile, storedEntry.fetchedAt);
+
+                            if (storedEntry.uuid != null && !isExpired(entry, now)) {
+                                this.entries.put(UUID.fromString(storedEntry.uuid), entry);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException | JsonParseException | IllegalArgumentException ex) {
+                SongodaCore.getLogger().log(Level.WARNING, "Failed to load the profile store " + this.file.getName(), ex);
+            }
+        }
+
+        this.loaded = true;
+    }
+
+    public static final class Entry {
+        private final UuidToProfileResult profile;
+        private final long fetchedAt;
+
+        private Entry(UuidToProfileResult profile, long fetchedAt) {
+            this.profile = profile;
+            this.fetchedAt = fetchedAt;
+        }
+
+        /**
+         * @return the profile, or null if there is no profile for the UUID
+         */
+        public @Nullable UuidToProfileResult getProfile() {
+            return this.profile;
+        }
+
+        public long getFetchedAt() {
+            return this.fetchedAt;
+        }
+    }
+
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private static final class StoredEntry {
+        private String uuid;
+        private long fetchedAt;
+        private UuidToProfileResult profile;
+
+        StoredEntry(UUID uuid, Entry entry) {
+            this.uuid = uuid.toString();
+            this.fetchedAt = entry.fetchedAt;
+            this.profile = entry.profile;
+        }
+    }
+}
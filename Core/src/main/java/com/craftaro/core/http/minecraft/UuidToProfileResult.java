@@ -20,6 +20,17 @@ public class UuidToProfileResult {
     private @NotNull List<Property> properties = Collections.emptyList();
     private @NotNull List<String> profileActions = Collections.emptyList();
 
+    /**
+     * Creates a profile with the given skin, e.g. for a profile the server has fetched itself
+     */
+    public static @NotNull UuidToProfileResult of(@NotNull UUID id, @NotNull String name, @NotNull String textureValue, @Nullable String textureSignature) {
+        UuidToProfileResult profile = new UuidToProfileResult();
+        profile.id = id.toString().replace("-", "");
+        profile.name = name;
+        profile.properties = Collections.singletonList(new Property("textures", textureValue, textureSignature));
+        return profile;
+    }
+
     public @NotNull UUID getId() {
         return UUID.fromString(
                 ADD_HYPHENS_TO_UUID
@@ -57,5 +68,14 @@ public class UuidToProfileResult {
         private String name;
         private String value;
         private @Nullable String signature;
+
+        private Property() {
+        }
+
+        private Property(String name, String value, @Nullable String signature) {
+            this.name = name;
+            this.value = value;
+            this.signature = signature;
+        }
     }
 }
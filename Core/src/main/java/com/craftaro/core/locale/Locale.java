@@ -1,8 +1,10 @@
 package com.craftaro.core.locale;
 
+import com.craftaro.core.chat.AdventureUtils;
 import com.craftaro.core.configuration.Config;
 import com.craftaro.core.configuration.ConfigSection;
 import com.craftaro.core.utils.TextUtils;
+import net.kyori.adventure.text.Component;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -20,6 +22,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +40,8 @@ public class Locale {
     private static final String FILE_EXTENSION = ".lang";
 
     private final Map<String, String> nodes = new HashMap<>();
+    private volatile Map<String, MessageTemplate> templates = Collections.emptyMap();
+    private volatile Component prefix;
     private final Plugin plugin;
     private final File file;
     private final String name;
@@ -295,6 +300,8 @@ public class Locale {
         }
 
         this.nodes.clear(); // Clear previous data (if any)
+        this.templates = Collections.emptyMap();
+        this.prefix = null;
 
         // guess what encoding this file is in
         Charset charset = TextUtils.detectCharset(this.file, null);
@@ -317,6 +324,7 @@ public class Locale {
                             ? (((List<?>) v).stream().map(Object::toString).collect(Collectors.joining("\n")))
                             : v.toString()));
 
+            compileMessages();
             return true;
         } catch (IOException ex) {
             ex.printStackTrace();
@@ -327,6 +335,23 @@ public class Locale {
         return false;
     }
 
+    /**
+     * Parse all loaded messages once, so sending them later does not have to parse them again
+     */
+    private void compileMessages() {
+        Map<String, MessageTemplate> compiled = new HashMap<>(this.nodes.size());
+        for (Map.Entry<String, String> node : this.nodes.entrySet()) {
+            try {
+                compiled.put(node.getKey(), new MessageTemplate(node.getValue()));
+            } catch (Exception ex) {
+                this.plugin.getLogger().log(Level.WARNING, "Failed to parse message \"" + node.getKey() + "\" of locale \"" + this.name + "\"", ex);
+            }
+        }
+
+        this.templates = compiled;
+        this.prefix = null;
+    }
+
     protected static BufferedReader translatePropertyToYAML(BufferedReader source, Charset charset) throws IOException {
         StringBuilder output = new StringBuilder();
 
@@ -425,7 +450,13 @@ public class Locale {
      * @return applied message
      */
     private Message supplyPrefix(Message message) {
-        return message.setPrefix(this.nodes.getOrDefault("general.nametag.prefix", "[" + this.plugin.getName() + "]"));
+        Component prefix = this.prefix;
+        if (prefix == null) {
+            prefix = AdventureUtils.formatComponent(this.nodes.getOrDefault("general.nametag.prefix", "[" + this.plugin.getName() + "]") + " ");
+            this.prefix = prefix;
+        }
+
+        return message.setPrefix(prefix);
     }
 
     /**
@@ -467,9 +498,29 @@ public class Locale {
             node += ".message";
         }
 
+        MessageTemplate template = this.templates.get(node);
+        if (template != null) {
+            return supplyPrefix(new Message(template));
+        }
+
         return supplyPrefix(new Message(this.nodes.getOrDefault(node, defaultValue)));
     }
 
+    /**
+     * Get the parsed template for a specific node
+     *
+     * @param node the node to get
+     *
+     * @return the template for the specified node, or null if the node does not exist
+     */
+    public MessageTemplate getMessageTemplate(String node) {
+        if (this.nodes.containsKey(node + ".message")) {
+            node += ".message";
+        }
+
+        return this.templates.get(node);
+    }
+
     /**
      * Return the locale name (i.e. "en_US")
      *
@@ -0,0 +1,168 @@
+package com.craftaro.core.locale;
+
+import com.craftaro.core.compatibility.ServerVersion;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps all locales of a plugin loaded and resolves which one to use for a specific player. <br>
+ * A player gets the locale matching their client language, falling back to another locale
+ * of the same language (e.g. {@code de_AT} -> {@code de_DE}) and finally the default locale.
+ * <br><br>
+ * All locales are parsed once when loading, so serving players with different languages
+ * or switching the default language does not read or parse any files.
+ */
+public class LocaleManager {
+    private final JavaPlugin plugin;
+    private volatile Map<String, Locale> locales = Collections.emptyMap();
+    private final Map<String, Locale> resolvedLocales = new ConcurrentHashMap<>();
+    private volatile Locale defaultLocale;
+
+    public LocaleManager(@NotNull JavaPlugin plugin, @NotNull Locale defaultLocale) {
+        this.plugin = plugin;
+        this.defaultLocale = defaultLocale;
+    }
+
+    /**
+     * Load all locales from the plugin's locale directory, replacing all previously loaded ones
+     */
+    public void loadAll() {
+        Map<String, Locale> loaded = new LinkedHashMap<>();
+        loaded.put(normalize(this.defaultLocale.getName()), this.defaultLocale);
+
+        if (new File(this.plugin.getDataFolder(), "locales/").isDirectory()) {
+            for (Locale locale : Locale.loadAllLocales(this.plugin)) {
+                loaded.putIfAbsent(normalize(locale.getName()), locale);
+            }
+        }
+
+        this.locales = loaded;
+        this.resolvedLocales.clear();
+    }
+
+    /**
+     * Re-read all loaded locales from their files
+     *
+     * @return true if all locales were reloaded successfully
+     */
+    public boolean reloadAll() {
+        boolean success = true;
+        for (Locale locale : this.locales.values()) {
+            success &= locale.reloadMessages();
+        }
+        return success;
+    }
+
+    @NotNull
+    public Locale getDefaultLocale() {
+        return this.defaultLocale;
+    }
+
+    public void setDefaultLocale(@NotNull Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+
+        Map<String, Locale> updated = new LinkedHashMap<>(this.locales);
+        updated.put(normalize(defaultLocale.getName()), defaultLocale);
+        this.locales = updated;
+        this.resolvedLocales.clear();
+    }
+
+    /**
+     * @return all loaded locales
+     */
+    @NotNull
+    public Collection<Locale> getLocales() {
+        return Collections.unmodifiableCollection(this.locales.values());
+    }
+
+    /**
+     * Get a loaded locale by its exact name
+     *
+     * @param name the locale name, eg "en_US" (case-insensitive)
+     *
+     * @return the locale or null if it is not loaded
+     */
+    @Nullable
+    public Locale getLocale(@NotNull String name) {
+        return this.locales.get(normalize(name));
+    }
+
+    /**
+     * Get the locale to use for a command sender.
+     * Players get the locale best matching their client language, everyone else gets the default locale.
+     *
+     * @param sender the receiver of a message
+     *
+     * @return the locale to use
+     */
+    @NotNull
+    public Locale getLocale(@NotNull CommandSender sender) {
+        if (!(sender instanceof Player)) {
+            return this.defaultLocale;
+        }
+
+        return resolve(getClientLocale((Player) sender));
+    }
+
+    /**
+     * Find the best matching locale for a client language
+     *
+     * @param clientLocale the client language, eg "de_at"
+     *
+     * @return the exact locale, another locale of the same language or the default locale
+     */
+    @NotNull
+    public Locale resolve(@Nullable String clientLocale) {
+        if (clientLocale == null || clientLocale.isEmpty()) {
+            return this.defaultLocale;
+        }
+
+        return this.resolvedLocales.computeIfAbsent(normalize(clientLocale), this::findLocale);
+    }
+
+    private Locale findLocale(String clientLocale) {
+        Locale locale = this.locales.get(clientLocale);
+        if (locale != null) {
+            return locale;
+        }
+
+        int separator = clientLocale.indexOf('_');
+        String language = separator == -1 ? clientLocale : clientLocale.substring(0, separator);
+
+        Locale defaultLocale = this.defaultLocale;
+        if (normalize(defaultLocale.getName()).startsWith(language + "_")) {
+            return defaultLocale;
+        }
+
+        for (Map.Entry<String, Locale> entry : this.locales.entrySet()) {
+            if (entry.getKey().startsWith(language + "_")) {
+                return entry.getValue();
+            }
+        }
+
+        return defaultLocale;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static String getClientLocale(Player player) {
+        if (ServerVersion.isServerVersionAtLeast(ServerVersion.V1_12)) {
+            return player.getLocale();
+        }
+
+        return player.spigot().getLocale();
+    }
+
+    private static String normalize(String localeName) {
+        return localeName.toLowerCase(java.util.Locale.ROOT).replace('-', '_');
+    }
+}
@@ -31,6 +31,11 @@ public class Message {
 
     private Component prefix = null;
     private Component message;
+    /**
+     * The template this message has been created from, as long as it is known which placeholders
+     * the message still contains, null otherwise
+     */
+    private MessageTemplate template;
 
     /**
      * create a new message
@@ -41,6 +46,16 @@ public class Message {
         this.message = AdventureUtils.formatComponent(message);
     }
 
+    /**
+     * create a new message from an already parsed template
+     *
+     * @param template the template to use
+     */
+    public Message(MessageTemplate template) {
+        this.message = template.getComponent();
+        this.template = template;
+    }
+
     /**
      * Format and send the held message to a player
      *
@@ -151,6 +166,17 @@ public class Message {
      */
     public Message processPlaceholder(String placeholder, String replacement) {
         MiniMessagePlaceholder miniMessagePlaceholder = new MiniMessagePlaceholder(placeholder, replacement == null ? "" : replacement);
+        if (this.template != null) {
+            if (!this.template.hasPlaceholder(miniMessagePlaceholder.getPlaceholder())) {
+                return this;
+            }
+
+            if (miniMessagePlaceholder.getValue().contains(MiniMessagePlaceholder.getPlaceholderPrefix())) {
+                // the replacement might introduce placeholders the template does not know about
+                this.template = null;
+            }
+        }
+
         this.message = AdventureUtils.formatPlaceholder(this.message, miniMessagePlaceholder);
 
         return this;
@@ -174,6 +200,11 @@ public class Message {
         return this;
     }
 
+    Message setPrefix(Component prefix) {
+        this.prefix = prefix;
+        return this;
+    }
+
     @Override
     public String toString() {
         return AdventureUtils.toLegacy(this.message);
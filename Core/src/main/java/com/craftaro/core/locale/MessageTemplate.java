@@ -0,0 +1,126 @@
+package com.craftaro.core.locale;
+
+import com.craftaro.core.chat.AdventureUtils;
+import com.craftaro.core.chat.MiniMessagePlaceholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A message that has been parsed once (usually when the {@link Locale} is loaded)
+ * and knows which placeholders it contains. <br>
+ * {@link Message}s created from a template share its component and only have to
+ * substitute the placeholders that actually exist in it.
+ */
+public final class MessageTemplate {
+    private final String raw;
+    private final Component component;
+    private final String plainText;
+    private final String prefix;
+    private final String suffix;
+    private final Set<String> placeholders;
+
+    public MessageTemplate(@NotNull String raw) {
+        this.raw = raw;
+        this.component = AdventureUtils.formatComponent(raw);
+        this.plainText = PlainTextComponentSerializer.plainText().serialize(this.component);
+        this.prefix = MiniMessagePlaceholder.getPlaceholderPrefix();
+        this.suffix = MiniMessagePlaceholder.getPlaceholderSuffix();
+        this.placeholders = Collections.unmodifiableSet(findPlaceholders(this.plainText, this.prefix, this.suffix));
+    }
+
+    /**
+     * @return the unparsed message this template was compiled from
+     */
+    @NotNull
+    public String getRaw() {
+        return this.raw;
+    }
+
+    /**
+     * @return the parsed message, without any placeholders replaced
+     */
+    @NotNull
+    public Component getComponent() {
+        return this.component;
+    }
+
+    /**
+     * @return everything from a placeholder prefix to the next suffix (e.g. {@code %player%}) in this message,
+     * this may include text that is not meant as a placeholder, like {@code % off %} in {@code 50% off %item%}
+     */
+    @NotNull
+    public Set<String> getPlaceholders() {
+        return this.placeholders;
+    }
+
+    /**
+     * Checks if this message contains the given placeholder
+     *
+     * @param placeholder the full placeholder including prefix and suffix, e.g. {@code %player%}
+     *
+     * @return true if replacing the placeholder could change the message
+     */
+    public boolean hasPlaceholder(@NotNull String placeholder) {
+        // The scan finds every placeholder that ends at the first suffix after its prefix,
+        // others (or ones using a prefix or suffix changed since) have to be searched for
+        if (!placeholder.startsWith(this.prefix)
+                || placeholder.indexOf(this.suffix, this.prefix.length()) != placeholder.length() - this.suffix.length()) {
+            return this.plainText.contains(placeholder);
+        }
+
+        return this.placeholders.contains(placeholder);
+    }
+
+    /**
+     * Renders this template with the given placeholders, skipping all placeholders not contained in it
+     *
+     * @param placeholders the placeholders to replace
+     *
+     * @return the rendered message
+     */
+    @NotNull
+    public Component render(MiniMessagePlaceholder... placeholders) {
+        int present = 0;
+        MiniMessagePlaceholder[] toReplace = new MiniMessagePlaceholder[placeholders.length];
+        for (MiniMessagePlaceholder placeholder : placeholders) {
+            if (hasPlaceholder(placeholder.getPlaceholder())) {
+                toReplace[present++] = placeholder;
+            }
+        }
+
+        if (present == 0) {
+            return this.component;
+        }
+
+        MiniMessagePlaceholder[] replacements = new MiniMessagePlaceholder[present];
+        System.arraycopy(toReplace, 0, replacements, 0, present);
+        return AdventureUtils.formatPlaceholder(this.component, replacements);
+    }
+
+    /**
+     * Collects the text from every occurrence of the prefix to the next suffix. <br>
+     * Every occurrence is a possible start, as the suffix of one placeholder might be the prefix of the next one
+     * (e.g. {@code 50% off %item%}), so no placeholder is missed.
+     */
+    private static Set<String> findPlaceholders(String text, String prefix, String suffix) {
+        Set<String> result = new HashSet<>();
+
+        int start = text.indexOf(prefix);
+        while (start != -1) {
+            int end = text.indexOf(suffix, start + prefix.length());
+            if (end == -1) {
+                break;
+            }
+
+            result.add(text.substring(start, end + suffix.length()));
+            start = text.indexOf(prefix, start + 1);
+        }
+
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package com.craftaro.core.lootables.loot;
 
 import com.craftaro.core.SongodaCore;
+import com.craftaro.core.utils.ItemFingerprint;
 import com.craftaro.ultimatestacker.api.UltimateStackerApi;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -16,6 +17,7 @@ public class DropUtils {
     public static void processStackedDrop(LivingEntity entity, List<Drop> drops, EntityDeathEvent event) {
         int xpToDrop = event.getDroppedExp();
         List<ItemStack> items = new ArrayList<>();
+        List<ItemFingerprint> fingerprints = new ArrayList<>();
         List<String> commands = new ArrayList<>();
         List<Integer> xp = new ArrayList<>();
 
@@ -25,12 +27,13 @@ public class DropUtils {
             ItemStack droppedItem = drop.getItemStack();
             if (droppedItem != null) {
                 droppedItem = droppedItem.clone();
+                ItemFingerprint fingerprint = ItemFingerprint.of(droppedItem);
                 boolean success = false;
 
-                for (ItemStack item : items) {
-                    if (item.getType() != droppedItem.getType()
-                            || item.getDurability() != droppedItem.getDurability()
-                            || item.getAmount() + droppedItem.getAmount() > droppedItem.getMaxStackSize()) continue;
+                for (int i = 0; i < items.size(); i++) {
+                    ItemStack item = items.get(i);
+                    if (item.getAmount() + droppedItem.getAmount() > droppedItem.getMaxStackSize()
+                            || !fingerprints.get(i).isSimilar(fingerprint)) continue;
                     item.setAmount(item.getAmount() + droppedItem.getAmount());
                     success = true;
 
@@ -39,6 +42,7 @@ public class DropUtils {
 
                 if (!success) {
                     items.add(droppedItem);
+                    fingerprints.add(fingerprint);
                 }
             }
 
@@ -0,0 +1,105 @@
+package com.craftaro.core.utils;
+
+import de.tr7zw.changeme.nbtapi.NBT;
+import de.tr7zw.changeme.nbtapi.NBTCompound;
+import de.tr7zw.changeme.nbtapi.NBTContainer;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Writes and reads the NBT of items in Minecraft's uncompressed binary format, used by {@link ItemCodec}. <br>
+ * NBT-API only writes gzip-compressed NBT, so the server's own NBT stream methods are called on the compound
+ * wrapped by NBT-API instead.
+ */
+final class BinaryItemNbt {
+    private static Method writeMethod;
+    private static Method readMethod;
+
+    private BinaryItemNbt() {
+    }
+
+    static void write(@NotNull ItemStack item, @NotNull DataOutput out) throws IOException {
+        Object compound = ((NBTCompound) NBT.itemStackToNBT(item)).getCompound();
+        invoke(getWriteMethod(), compound, out);
+    }
+
+    static @NotNull ItemStack read(@NotNull DataInputStream in) throws IOException {
+        Object compound = invoke(getReadMethod(), in);
+        return NBT.itemStackFromNBT(new NBTContainer(compound));
+    }
+
+    private static Object invoke(Method method, Object... args) throws IOException {
+        try {
+            return method.invoke(null, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException("Invalid item NBT", ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static synchronized Method getWriteMethod() {
+        if (writeMethod == null) {
+            resolveMethods();
+        }
+        return writeMethod;
+    }
+
+    private static synchronized Method getReadMethod() {
+        if (readMethod == null) {
+            resolveMethods();
+        }
+        return readMethod;
+    }
+
+    /**
+     * Finds {@code NBTCompressedStreamTools} (Spigot) or {@code NbtIo} (Mojang mappings) next to the compound class,
+     * the method names are obfuscated on some versions so the methods are matched by their signature
+     */
+    private static void resolveMethods() {
+        Class<?> compoundClass = ((NBTCompound) NBT.createNBTObject()).getCompound().getClass();
+        String nmsPackage = compoundClass.getPackage().getName();
+
+        for (String className : new String[] {"NBTCompressedStreamTools", "NbtIo"}) {
+            Class<?> streamTools;
+            try {
+                streamTools = Class.forName(nmsPackage + "." + className);
+            } catch (ClassNotFoundException ignored) {
+                continue;
+            }
+
+            for (Method method : streamTools.getDeclaredMethods()) {
+                if (!Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+
+                Class<?>[] parameters = method.getParameterTypes();
+                if (parameters.length == 2 && parameters[0] == compoundClass && parameters[1] == DataOutput.class) {
+                    method.setAccessible(true);
+                    writeMethod = method;
+                } else if (parameters.length == 1 && method.getReturnType() == compoundClass
+                        && (parameters[0] == DataInput.class || parameters[0] == DataInputStream.class)) {
+                    method.setAccessible(true);
+                    readMethod = method;
+                }
+            }
+
+            if (writeMethod != null && readMethod != null) {
+                return;
+            }
+        }
+
+        throw new IllegalStateException("Unable to find the NBT stream methods for " + compoundClass.getName());
+    }
+}
@@ -0,0 +1,239 @@
+package com.craftaro.core.utils;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A copy of the contents of an inventory to insert many items at once. <br>
+ * The contents are read once and the stacks that are not full are indexed by item, so each item is merged
+ * into matching stacks without comparing it to every slot. Nothing is written to the inventory until
+ * {@link #apply()} is called, which only writes the slots that changed.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * InventorySnapshot snapshot = new InventorySnapshot(hopper.getInventory());
+ * List<ItemStack> leftover = snapshot.addAll(drops);
+ * snapshot.apply();
+ * }</pre>
+ * Not thread-safe, and the inventory should not be changed by anything else until the snapshot has been applied.
+ */
+public class InventorySnapshot {
+    private final Inventory inventory;
+    private final ItemStack[] contents;
+    private final BitSet changed;
+    private final BitSet reserved;
+    /**
+     * The stack limit of the inventory, which may be lower than the one of the items
+     */
+    private final int maxStackSize;
+    /**
+     * Slots of the stacks that are not full, by item, in ascending order
+     */
+    private final Map<ItemFingerprint, Deque<Integer>> partialStacks = new HashMap<>();
+    private int nextFreeSlot;
+
+    public InventorySnapshot(@NotNull Inventory inventory) {
+        // armor and off-hand slots of players are not filled
+        this(inventory, inventory instanceof PlayerInventory
+                ? Arrays.copyOf(inventory.getContents(), 36)
+                : inventory.getContents());
+    }
+
+    /**
+     * Create a snapshot of an array of items, e.g. a virtual inventory. <br>
+     * The array is changed directly and {@link #apply()} has no effect, the items in it are replaced instead of changed.
+     *
+     * @param contents the items to insert into, may contain nulls
+     */
+    public InventorySnapshot(@NotNull ItemStack[] contents) {
+        this(null, contents);
+    }
+
+    private InventorySnapshot(Inventory inventory, ItemStack[] contents) {
+        this.inventory = inventory;
+        this.contents = contents;
+        this.changed = new BitSet(contents.length);
+        this.reserved = new BitSet(contents.length);
+        this.maxStackSize = inventory != null ? inventory.getMaxStackSize() : Integer.MAX_VALUE;
+
+        for (int i = 0; i < contents.length; ++i) {
+            final ItemStack stack = contents[i];
+
+            if (stack != null && stack.getAmount() > 0 && stack.getAmount() < getMaxStackSize(stack)) {
+                this.partialStacks.computeIfAbsent(ItemFingerprint.of(stack), k -> new ArrayDeque<>()).add(i);
+            }
+        }
+    }
+
+    /**
+     * Keep a slot from being filled, e.g. the input slot of a machine. <br>
+     * Has to be called before adding items.
+     *
+     * @param slot the slot to keep
+     */
+    public void reserve(int slot) {
+        if (slot >= 0 && slot < this.contents.length) {
+            this.reserved.set(slot);
+
+            for (Deque<Integer> slots : this.partialStacks.values()) {
+                slots.remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Add as much of an item as possible, first to matching stacks and then to free slots
+     *
+     * @param item the item to add, is not changed
+     *
+     * @return the amount that did not fit
+     */
+    public int add(@Nullable ItemStack item) {
+        if (item == null || item.getAmount() <= 0) {
+            return 0;
+        }
+
+        return add(item, item.getAmount());
+    }
+
+    /**
+     * Add as much of an item as possible, first to matching stacks and then to free slots
+     *
+     * @param item   the item to add, is not changed
+     * @param amount how many of the item to add, may be more than a stack
+     *
+     * @return the amount that did not fit
+     */
+    public int add(@NotNull ItemStack item, int amount) {
+        final int maxStack = getMaxStackSize(item);
+        final ItemFingerprint key = ItemFingerprint.of(item);
+
+        Deque<Integer> slots = this.partialStacks.get(key);
+        while (amount > 0 && slots != null && !slots.isEmpty()) {
+            final int slot = slots.peekFirst();
+            ItemStack stack = this.contents[slot];
+
+            if (!this.changed.get(slot)) {
+                // the contents of an inventory may be mirrors of its items
+                stack = stack.clone();
+                this.contents[slot] = stack;
+            }
+
+            final int adding = Math.min(maxStack - stack.getAmount(), amount);
+
+            stack.setAmount(stack.getAmount() + adding);
+            this.changed.set(slot);
+            amount -= adding;
+
+            if (stack.getAmount() >= maxStack) {
+                slots.pollFirst();
+            }
+        }
+
+        while (amount > 0) {
+            final int slot = findFreeSlot();
+            if (slot == -1) {
+                break;
+            }
+
+            final int adding = Math.min(maxStack, amount);
+            final ItemStack stack = item.clone();
+            stack.setAmount(adding);
+
+            this.contents[slot] = stack;
+            this.changed.set(slot);
+            amount -= adding;
+
+            if (adding < maxStack) {
+                Deque<Integer> partialSlots = this.partialStacks.get(key);
+                if (partialSlots == null) {
+                    // keyed by our own copy, the caller may still change the item
+                    partialSlots = new ArrayDeque<>();
+                    this.partialStacks.put(ItemFingerprint.of(stack), partialSlots);
+                }
+                partialSlots.add(slot);
+            }
+        }
+
+        return amount;
+    }
+
+    /**
+     * Add as much of each item as possible
+     *
+     * @param items the items to add, are not changed
+     *
+     * @return the parts of the items that did not fit
+     */
+    @NotNull
+    public List<ItemStack> addAll(@NotNull Collection<ItemStack> items) {
+        List<ItemStack> leftover = new ArrayList<>(0);
+
+        for (ItemStack item : items) {
+            final int remaining = add(item);
+
+            if (remaining > 0) {
+                ItemStack rest = item.clone();
+                rest.setAmount(remaining);
+                leftover.add(rest);
+            }
+        }
+
+        return leftover;
+    }
+
+    /**
+     * @return the current contents, including all items added so far
+     */
+    @NotNull
+    public ItemStack[] getContents() {
+        return this.contents;
+    }
+
+    /**
+     * Write all changed slots to the inventory
+     *
+     * @return the number of slots that have been written
+     */
+    public int apply() {
+        final int count = this.changed.cardinality();
+
+        if (this.inventory != null) {
+            for (int i = this.changed.nextSetBit(0); i >= 0; i = this.changed.nextSetBit(i + 1)) {
+                this.inventory.setItem(i, this.contents[i]);
+            }
+        }
+
+        this.changed.clear();
+        return count;
+    }
+
+    private int getMaxStackSize(ItemStack item) {
+        return Math.min(item.getMaxStackSize(), this.maxStackSize);
+    }
+
+    private int findFreeSlot() {
+        for (; this.nextFreeSlot < this.contents.length; ++this.nextFreeSlot) {
+            final ItemStack stack = this.contents[this.nextFreeSlot];
+
+            if ((stack == null || stack.getAmount() <= 0) && !this.reserved.get(this.nextFreeSlot)) {
+                return this.nextFreeSlot++;
+            }
+        }
+
+        return -1;
+    }
+}
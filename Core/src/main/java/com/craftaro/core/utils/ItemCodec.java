@@ -0,0 +1,376 @@
+package com.craftaro.core.utils;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary format for items and inventories, a replacement for the Java serialization used by
+ * {@link ItemSerializer} and {@link ItemUtils#itemStackArrayToBase64(ItemStack[])}. <br>
+ * Items are stored as their NBT, equal items of an inventory are only stored once and the whole
+ * inventory can be compressed. Data written by the old methods is detected and read as well.
+ * <br><br>
+ * Format (version 1):
+ * <pre>
+ * 0xC1 0x7E      magic
+ * version        byte
+ * compression    byte, see {@link Compression}
+ * body, compressed as a whole:
+ *   slots        varint
+ *   per slot     varint reference: 0 for an empty slot, 1 to n for the n-th stored item, n + 1 for a new item
+ *                that follows as varint length and uncompressed binary NBT, then varint amount for non-empty slots
+ * </pre>
+ */
+public final class ItemCodec {
+    private static final int MAGIC_0 = 0xC1;
+    private static final int MAGIC_1 = 0x7E;
+    private static final int VERSION = 1;
+    /**
+     * Limits for values read from corrupt input, so they fail with an IOException instead of huge allocations
+     */
+    private static final int MAX_SLOTS = 1 << 20;
+    private static final int MAX_NBT_LENGTH = 2 * 1024 * 1024;
+
+    public enum Compression {
+        NONE, DEFLATE
+    }
+
+    private ItemCodec() {
+    }
+
+    /**
+     * Write items in one pass
+     *
+     * @param out         the stream to write to, is not closed
+     * @param items       the items to write, may contain nulls
+     * @param compression how to compress the items
+     *
+     * @throws IOException if the stream could not be written to
+     */
+    public static void write(@NotNull OutputStream out, @NotNull ItemStack[] items, @NotNull Compression compression) throws IOException {
+        out.write(MAGIC_0);
+        out.write(MAGIC_1);
+        out.write(VERSION);
+        out.write(compression.ordinal());
+
+        Deflater deflater = null;
+        OutputStream body = out;
+        if (compression == Compression.DEFLATE) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            body = new DeflaterOutputStream(out, deflater, 512);
+        }
+
+        try {
+            DataOutputStream data = new DataOutputStream(body);
+            Map<ItemFingerprint, Integer> dictionary = new HashMap<>();
+            ByteArrayOutputStream nbtBuffer = new ByteArrayOutputStream(256);
+            DataOutputStream nbtData = new DataOutputStream(nbtBuffer);
+
+            writeVarInt(data, items.length);
+            for (ItemStack item : items) {
+                if (item == null || item.getAmount() <= 0 || item.getType() == Material.AIR) {
+                    writeVarInt(data, 0);
+                    continue;
+                }
+
+                ItemFingerprint fingerprint = ItemFingerprint.of(item);
+                Integer reference = dictionary.get(fingerprint);
+
+                if (reference != null) {
+                    writeVarInt(data, reference);
+                } else {
+                    reference = dictionary.size() + 1;
+                    dictionary.put(fingerprint, reference);
+
+                    ItemStack single = item.clone();
+                    single.setAmount(1);
+                    nbtBuffer.reset();
+                    BinaryItemNbt.write(single, nbtData);
+
+                    writeVarInt(data, reference);
+                    writeVarInt(data, nbtBuffer.size());
+                    nbtBuffer.writeTo(data);
+                }
+
+                writeVarInt(data, item.getAmount());
+            }
+
+            data.flush();
+            if (body instanceof DeflaterOutputStream) {
+                ((DeflaterOutputStream) body).finish();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Read items written by {@link #write(OutputStream, ItemStack[], Compression)}
+     * or by {@link ItemUtils#itemStackArrayToBase64(ItemStack[])} (without Base64)
+     *
+     * @param in the stream to read from, is not closed
+     *
+     * @return the items, containing nulls for empty slots
+     *
+     * @throws IOException if the stream could not be read or does not contain items
+     */
+    @NotNull
+    public static ItemStack[] read(@NotNull InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 2);
+        if (!readMagic(pushback)) {
+            return readLegacy(pushback);
+        }
+
+        final int version = pushback.read();
+        if (version != VERSION) {
+            throw new IOException("Unsupported item format version " + version);
+        }
+
+        final int compression = pushback.read();
+        if (compression < 0 || compression >= Compression.values().length) {
+            throw new IOException("Unsupported item compression " + compression);
+        }
+
+        InputStream body = pushback;
+        Inflater inflater = null;
+        if (compression == Compression.DEFLATE.ordinal()) {
+            inflater = new Inflater();
+            body = new InflaterInputStream(pushback, inflater, 512);
+        }
+
+        try {
+            DataInputStream data = new DataInputStream(body);
+            List<ItemStack> dictionary = new ArrayList<>();
+
+            ItemStack[] items = new ItemStack[readVarInt(data, MAX_SLOTS)];
+            for (int i = 0; i < items.length; ++i) {
+                final int reference = readVarInt(data, dictionary.size() + 1);
+                if (reference == 0) {
+                    continue;
+                }
+
+                if (reference == dictionary.size() + 1) {
+                    byte[] nbt = new byte[readVarInt(data, MAX_NBT_LENGTH)];
+                    data.readFully(nbt);
+
+                    try {
+                        dictionary.add(BinaryItemNbt.read(new DataInputStream(new ByteArrayInputStream(nbt))));
+                    } catch (RuntimeException ex) {
+                        throw new IOException("Invalid item NBT", ex);
+                    }
+                }
+
+                final int amount = readVarInt(data, Integer.MAX_VALUE);
+                if (amount == 0) {
+                    throw new IOException("Invalid item amount 0");
+                }
+
+                ItemStack item = dictionary.get(reference - 1).clone();
+                item.setAmount(amount);
+                items[i] = item;
+            }
+
+            return items;
+        } finally {
+            if (inflater != null) {
+                // the stream given to us must not be closed
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Serialize items, compressed
+     *
+     * @param items the items to serialize, may contain nulls
+     *
+     * @return the serialized items
+     */
+    public static byte[] encode(@NotNull ItemStack[] items) {
+        return encode(items, Compression.DEFLATE);
+    }
+
+    /**
+     * Serialize items
+     *
+     * @param items       the items to serialize, may contain nulls
+     * @param compression how to compress the items
+     *
+     * @return the serialized items
+     */
+    public static byte[] encode(@NotNull ItemStack[] items, @NotNull Compression compression) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + items.length * 16);
+
+        try {
+            write(out, items, compression);
+        } catch (IOException ex) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(ex);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserialize items serialized by {@link #encode(ItemStack[])} or by the legacy Java serialization
+     *
+     * @param data the serialized items
+     *
+     * @return the items, or null if they could not be read
+     */
+    @Nullable
+    public static ItemStack[] decode(byte[] data) {
+        try {
+            return read(new ByteArrayInputStream(data));
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Serialize items into a Base64 string for text columns and config files
+     *
+     * @param items the items to serialize, may contain nulls
+     *
+     * @return the serialized items
+     */
+    @NotNull
+    public static String encodeToString(@NotNull ItemStack[] items) {
+        return Base64.getEncoder().encodeToString(encode(items));
+    }
+
+    /**
+     * Deserialize items serialized by {@link #encodeToString(ItemStack[])},
+     * {@link ItemUtils#itemStackArrayToBase64(ItemStack[])} or {@link ItemSerializer#toBase64(List)}
+     *
+     * @param data the serialized items
+     *
+     * @return the items, or null if they could not be read
+     */
+    @Nullable
+    public static ItemStack[] decodeString(String data) {
+        return decode(Base64Coder.decodeLines(data));
+    }
+
+    /**
+     * Serialize a single item
+     *
+     * @param item the item to serialize
+     *
+     * @return the serialized item
+     */
+    public static byte[] encodeItem(@Nullable ItemStack item) {
+        return encode(new ItemStack[] {item}, Compression.NONE);
+    }
+
+    /**
+     * Deserialize an item serialized by {@link #encodeItem(ItemStack)} or {@link ItemSerializer#serializeItem(ItemStack)}
+     *
+     * @param data the serialized item
+     *
+     * @return the item, or null if it could not be read
+     */
+    @Nullable
+    public static ItemStack decodeItem(byte[] data) {
+        if (!isEncoded(data)) {
+            return ItemSerializer.deserializeItem(data);
+        }
+
+        ItemStack[] items = decode(data);
+        return items == null || items.length == 0 ? null : items[0];
+    }
+
+    /**
+     * @return true if the data has been written by this codec, false if it is legacy data
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 2 && (data[0] & 0xFF) == MAGIC_0 && (data[1] & 0xFF) == MAGIC_1;
+    }
+
+    private static boolean readMagic(PushbackInputStream in) throws IOException {
+        byte[] magic = new byte[2];
+        int read = in.read(magic);
+        if (read == 2 && (magic[0] & 0xFF) == MAGIC_0 && (magic[1] & 0xFF) == MAGIC_1) {
+            return true;
+        }
+
+        if (read > 0) {
+            in.unread(magic, 0, read);
+        }
+        return false;
+    }
+
+    private static ItemStack[] readLegacy(InputStream in) throws IOException {
+        BukkitObjectInputStream stream = new BukkitObjectInputStream(in);
+        final int size = stream.readInt();
+        if (size < 0 || size > MAX_SLOTS) {
+            throw new IOException("Invalid item count " + size);
+        }
+
+        ItemStack[] items = new ItemStack[size];
+        try {
+            for (int i = 0; i < items.length; ++i) {
+                items[i] = (ItemStack) stream.readObject();
+            }
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException(ex);
+        }
+
+        return items;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * @param max the largest valid value
+     *
+     * @throws IOException if the value is negative or larger than max
+     */
+    private static int readVarInt(DataInputStream in, int max) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                if (value < 0 || value > max) {
+                    throw new IOException("Invalid value " + (value & 0xFFFFFFFFL) + ", expected at most " + max);
+                }
+                return value;
+            }
+        }
+
+        throw new IOException("VarInt too long");
+    }
+}
@@ -0,0 +1,121 @@
+package com.craftaro.core.utils;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A cheap summary of an item to check if two items can be stacked onto each other. <br>
+ * Type, durability and a hash of the item meta are compared first, {@link ItemStack#isSimilar(ItemStack)}
+ * is only called if both items have meta with the same hash.
+ * <br><br>
+ * Computing a fingerprint reads the meta once, so it pays off when an item is compared to many others.
+ * A fingerprint describes the item at the time it was created, it has to be created again if the item changes. <br>
+ * Fingerprints of similar items are equal, so they can be used as map keys to group items.
+ */
+public final class ItemFingerprint {
+    private final ItemStack item;
+    private final Material type;
+    private final short durability;
+    private final boolean hasMeta;
+    private final int metaHash;
+    private final int hash;
+
+    private ItemFingerprint(ItemStack item) {
+        this.item = item;
+        this.type = item.getType();
+        this.durability = item.getDurability();
+        this.hasMeta = item.hasItemMeta();
+
+        // the meta hash is consistent with ItemFactory#equals, unlike serialized NBT which does not guarantee an order
+        ItemMeta meta = this.hasMeta ? item.getItemMeta() : null;
+        this.metaHash = meta != null ? meta.hashCode() : 0;
+
+        int hash = this.type.hashCode();
+        hash = hash * 31 + this.durability;
+        hash = hash * 31 + this.metaHash;
+        this.hash = hash;
+    }
+
+    @NotNull
+    public static ItemFingerprint of(@NotNull ItemStack item) {
+        return new ItemFingerprint(item);
+    }
+
+    /**
+     * @return the item this fingerprint has been created from
+     */
+    @NotNull
+    public ItemStack getItem() {
+        return this.item;
+    }
+
+    @NotNull
+    public Material getType() {
+        return this.type;
+    }
+
+    public short getDurability() {
+        return this.durability;
+    }
+
+    public int getMetaHash() {
+        return this.metaHash;
+    }
+
+    /**
+     * Check if the items of both fingerprints can be stacked onto each other, ignoring their amount
+     *
+     * @param other the fingerprint to compare with
+     *
+     * @return true if the items are similar
+     */
+    public boolean isSimilar(@NotNull ItemFingerprint other) {
+        if (this.hash != other.hash
+                || this.type != other.type
+                || this.durability != other.durability
+                || this.hasMeta != other.hasMeta
+                || this.metaHash != other.metaHash) {
+            return false;
+        }
+
+        // equal hashes might still collide
+        return !this.hasMeta || this.item.isSimilar(other.item);
+    }
+
+    /**
+     * Check if an item can be stacked onto the item of this fingerprint, ignoring their amount. <br>
+     * The other item is not fingerprinted, as that would copy its meta for a single comparison.
+     * Type, durability and the presence of meta are compared first, {@link ItemStack#isSimilar(ItemStack)}
+     * is only called if both items have meta.
+     *
+     * @param other the item to compare with
+     *
+     * @return true if the items are similar
+     */
+    public boolean isSimilar(ItemStack other) {
+        if (other == null
+                || other.getType() != this.type
+                || other.getDurability() != this.durability
+                || other.hasItemMeta() != this.hasMeta) {
+            return false;
+        }
+
+        return !this.hasMeta || this.item.isSimilar(other);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        return obj instanceof ItemFingerprint && isSimilar((ItemFingerprint) obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
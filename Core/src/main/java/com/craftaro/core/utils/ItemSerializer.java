@@ -9,6 +9,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -56,8 +57,14 @@ public class ItemSerializer {
      * @return ItemStack array created from the Base64 string.
      */
     public static List<ItemStack> fromBase64(String data) {
+        byte[] bytes = Base64Coder.decodeLines(data);
+        if (ItemCodec.isEncoded(bytes)) {
+            ItemStack[] items = ItemCodec.decode(bytes);
+            return items == null ? null : new ArrayList<>(Arrays.asList(items));
+        }
+
         try {
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(Base64Coder.decodeLines(data));
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
             BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
             int length = dataInput.readInt();
             List<ItemStack> items = new ArrayList<>();
@@ -85,6 +92,10 @@ public class ItemSerializer {
      * @return Deserialized ItemStack.
      */
     public static ItemStack deserializeItem(byte[] data) {
+        if (ItemCodec.isEncoded(data)) {
+            return ItemCodec.decodeItem(data);
+        }
+
         ItemStack item = null;
 
         try (BukkitObjectInputStream stream = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
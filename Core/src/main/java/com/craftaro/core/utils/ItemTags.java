@@ -0,0 +1,158 @@
+package com.craftaro.core.utils;
+
+import de.tr7zw.changeme.nbtapi.NBT;
+import de.tr7zw.changeme.nbtapi.NBTType;
+import de.tr7zw.changeme.nbtapi.iface.ReadWriteNBT;
+import de.tr7zw.changeme.nbtapi.iface.ReadableItemNBT;
+import de.tr7zw.changeme.nbtapi.iface.ReadableNBT;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Reads and writes many custom tags of an item at once. <br>
+ * Reading accesses the NBT of the item in place, without converting the item into a copy first,
+ * and writing applies all changes to the item in a single step.
+ * <br><br>
+ * Example:
+ * <pre>{@code
+ * Map<String, Object> tags = ItemTags.read(item, "owner", "level", "boost");
+ * int level = (int) tags.getOrDefault("level", 1);
+ * }</pre>
+ */
+public final class ItemTags {
+    private ItemTags() {
+    }
+
+    /**
+     * Read the values of many tags in one access
+     *
+     * @param item the item to read from
+     * @param keys the tags to read
+     *
+     * @return the values of the existing tags by key. Compounds are copied into a {@link ReadWriteNBT},
+     * lists are left out and should be read with {@link #read(ItemStack, Function)}
+     */
+    @NotNull
+    public static Map<String, Object> read(@NotNull ItemStack item, @NotNull String... keys) {
+        return read(item, nbt -> {
+            Map<String, Object> values = new HashMap<>(keys.length * 2);
+
+            for (String key : keys) {
+                Object value = getValue(nbt, key);
+
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+
+            return values;
+        });
+    }
+
+    /**
+     * Read the NBT of an item without copying the item. <br>
+     * The NBT must not be used after the reader has returned.
+     *
+     * @param item   the item to read from
+     * @param reader reads everything that is needed
+     *
+     * @return the result of the reader
+     */
+    public static <T> T read(@NotNull ItemStack item, @NotNull Function<ReadableItemNBT, T> reader) {
+        return NBT.get(item, reader);
+    }
+
+    /**
+     * Set the values of many tags and apply them to the item once
+     *
+     * @param item   the item to change
+     * @param values the values by key, null values remove the tag. Supported values are strings,
+     *               booleans, numbers, int and byte arrays, UUIDs and {@link ReadableNBT} compounds
+     *
+     * @throws IllegalArgumentException if a value has an unsupported type
+     */
+    public static void write(@NotNull ItemStack item, @NotNull Map<String, ?> values) {
+        NBT.modify(item, nbt -> {
+            for (Map.Entry<String, ?> entry : values.entrySet()) {
+                setValue(nbt, entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    private static Object getValue(ReadableNBT nbt, String key) {
+        NBTType type = nbt.getType(key);
+        if (type == null) {
+            return null;
+        }
+
+        switch (type) {
+            case NBTTagString:
+                return nbt.getString(key);
+            case NBTTagInt:
+                return nbt.getInteger(key);
+            case NBTTagByte:
+                return nbt.getByte(key);
+            case NBTTagShort:
+                return nbt.getShort(key);
+            case NBTTagLong:
+                return nbt.getLong(key);
+            case NBTTagFloat:
+                return nbt.getFloat(key);
+            case NBTTagDouble:
+                return nbt.getDouble(key);
+            case NBTTagByteArray:
+                return nbt.getByteArray(key);
+            case NBTTagIntArray:
+                return nbt.getIntArray(key);
+            case NBTTagLongArray:
+                return nbt.getLongArray(key);
+            case NBTTagCompound:
+                // the compound is only valid while reading
+                ReadWriteNBT copy = NBT.createNBTObject();
+                copy.mergeCompound(nbt.getCompound(key));
+                return copy;
+            default:
+                return null;
+        }
+    }
+
+    private static void setValue(ReadWriteNBT nbt, String key, Object value) {
+        if (value == null) {
+            nbt.removeKey(key);
+        } else if (value instanceof String) {
+            nbt.setString(key, (String) value);
+        } else if (value instanceof Integer) {
+            nbt.setInteger(key, (Integer) value);
+        } else if (value instanceof Boolean) {
+            nbt.setBoolean(key, (Boolean) value);
+        } else if (value instanceof Byte) {
+            nbt.setByte(key, (Byte) value);
+        } else if (value instanceof Short) {
+            nbt.setShort(key, (Short) value);
+        } else if (value instanceof Long) {
+            nbt.setLong(key, (Long) value);
+        } else if (value instanceof Float) {
+            nbt.setFloat(key, (Float) value);
+        } else if (value instanceof Double) {
+            nbt.setDouble(key, (Double) value);
+        } else if (value instanceof byte[]) {
+            nbt.setByteArray(key, (byte[]) value);
+        } else if (value instanceof int[]) {
+            nbt.setIntArray(key, (int[]) value);
+        } else if (value instanceof long[]) {
+            nbt.setLongArray(key, (long[]) value);
+        } else if (value instanceof UUID) {
+            nbt.setUUID(key, (UUID) value);
+        } else if (value instanceof ReadableNBT) {
+            nbt.removeKey(key);
+            nbt.getOrCreateCompound(key).mergeCompound((ReadableNBT) value);
+        } else {
+            throw new IllegalArgumentException("Unsupported NBT value for " + key + ": " + value);
+        }
+    }
+}
@@ -34,6 +34,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -108,8 +109,13 @@ public class ItemUtils {
     }
 
     public static ItemStack[] itemStackArrayFromBase64(String data) {
+        byte[] bytes = Base64Coder.decodeLines(data);
+        if (ItemCodec.isEncoded(bytes)) {
+            return ItemCodec.decode(bytes);
+        }
+
         try {
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(Base64Coder.decodeLines(data));
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
             BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
             ItemStack[] items = new ItemStack[dataInput.readInt()];
 
@@ -454,13 +460,9 @@ public class ItemUtils {
             return true;
         }
 
-        final ItemMeta itemMeta = item.getItemMeta();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
         for (ItemStack stack : inventory) {
-            final ItemMeta stackMeta;
-
-            if (isSimilarMaterial(stack, item) && (stack.getAmount() + item.getAmount()) < stack.getMaxStackSize()
-                    && ((itemMeta == null) == ((stackMeta = stack.getItemMeta()) == null))
-                    && (itemMeta == null || Bukkit.getItemFactory().equals(itemMeta, stackMeta))) {
+            if ((stack.getAmount() + item.getAmount()) < stack.getMaxStackSize() && fingerprint.isSimilar(stack)) {
                 return true;
             }
         }
@@ -481,17 +483,14 @@ public class ItemUtils {
      * @return true if a free slot or single receiver slot is available
      */
     public static boolean canMove(ItemStack[] contents, ItemStack item) {
-        final ItemMeta itemMeta = item.getItemMeta();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
         for (final ItemStack stack : contents) {
             if (stack == null || stack.getAmount() == 0) {
                 return true;
             }
 
-            final ItemMeta stackMeta;
-            if (isSimilarMaterial(stack, item) && (stack.getAmount() + item.getAmount()) < stack.getMaxStackSize()
-                    && ((itemMeta == null) == ((stackMeta = stack.getItemMeta()) == null))
-                    && (itemMeta == null || Bukkit.getItemFactory().equals(itemMeta, stackMeta))) {
+            if ((stack.getAmount() + item.getAmount()) < stack.getMaxStackSize() && fingerprint.isSimilar(stack)) {
                 return true;
             }
         }
@@ -513,7 +512,7 @@ public class ItemUtils {
      * @return true if a free slot or single receiver slot is available
      */
     public static boolean canMoveReserved(Inventory inventory, ItemStack item, int reserved) {
-        final ItemMeta itemMeta = item.getItemMeta();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
         final ItemStack[] contents = inventory.getContents();
 
         for (int i = 0; i < contents.length; ++i) {
@@ -522,12 +521,9 @@ public class ItemUtils {
             }
 
             final ItemStack stack = contents[i];
-            final ItemMeta stackMeta;
 
             if (stack == null || stack.getAmount() == 0
-                    || (isSimilarMaterial(stack, item) && (stack.getAmount() + item.getAmount()) < stack.getMaxStackSize()
-                    && ((itemMeta == null) == ((stackMeta = stack.getItemMeta()) == null))
-                    && (itemMeta == null || Bukkit.getItemFactory().equals(itemMeta, stackMeta)))) {
+                    || ((stack.getAmount() + item.getAmount()) < stack.getMaxStackSize() && fingerprint.isSimilar(stack))) {
                 return true;
             }
         }
@@ -549,7 +545,7 @@ public class ItemUtils {
      * @return true if a free slot or single receiver slot is available
      */
     public static boolean canMoveReserved(ItemStack[] contents, ItemStack item, int reserved) {
-        final ItemMeta itemMeta = item.getItemMeta();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
         for (int i = 0; i < contents.length; ++i) {
             if (i == reserved) {
@@ -562,10 +558,7 @@ public class ItemUtils {
                 return true;
             }
 
-            final ItemMeta stackMeta;
-            if (isSimilarMaterial(stack, item) && (stack.getAmount() + item.getAmount()) < stack.getMaxStackSize()
-                    && ((itemMeta == null) == ((stackMeta = stack.getItemMeta()) == null))
-                    && (itemMeta == null || Bukkit.getItemFactory().equals(itemMeta, stackMeta))) {
+            if ((stack.getAmount() + item.getAmount()) < stack.getMaxStackSize() && fingerprint.isSimilar(stack)) {
                 return true;
             }
         }
@@ -603,6 +596,7 @@ public class ItemUtils {
 
         if (inventory != null && item != null && amountToAdd > 0) {
             final int maxStack = item.getMaxStackSize();
+            final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
             for (int i = 0; amountToAdd > 0 && i < maxSize; ++i) {
                 if (i == reserved) {
@@ -624,7 +618,7 @@ public class ItemUtils {
 
                     totalAdded += toAdd;
                     amountToAdd -= toAdd;
-                } else if (maxStack > cacheItem.getAmount() && item.isSimilar(cacheItem)) {
+                } else if (maxStack > cacheItem.getAmount() && fingerprint.isSimilar(cacheItem)) {
                     // free space!
                     int toAdd = Math.min(maxStack - cacheItem.getAmount(), amountToAdd);
 
@@ -757,6 +751,7 @@ public class ItemUtils {
         // grab the amount to move and the max item stack size
         int toAdd = item.getAmount();
         final int maxStack = item.getMaxStackSize();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
         // we can reduce calls to ItemStack.isSimilar() by caching what cells to look at
         if (check == null) {
@@ -779,7 +774,7 @@ public class ItemUtils {
                     // free slot!
                     toAdd -= Math.min(maxStack, toAdd);
                     check[i] = true;
-                } else if (maxStack > cacheItem.getAmount() && item.isSimilar(cacheItem)) {
+                } else if (maxStack > cacheItem.getAmount() && fingerprint.isSimilar(cacheItem)) {
                     // free space!
                     toAdd -= Math.min(maxStack - cacheItem.getAmount(), toAdd);
                     check[i] = true;
@@ -844,6 +839,7 @@ public class ItemUtils {
         if (inventory != null && item != null && amountToAdd > 0) {
             final int containerSize = inventory.getSize();
             final int maxStack = item.getMaxStackSize();
+            final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
             for (int i = 0; amountToAdd > 0 && i < containerSize; ++i) {
                 final ItemStack cacheItem = inventory.getItem(i);
@@ -857,7 +853,7 @@ public class ItemUtils {
 
                     totalAdded += toAdd;
                     amountToAdd -= toAdd;
-                } else if (maxStack > cacheItem.getAmount() && item.isSimilar(cacheItem)) {
+                } else if (maxStack > cacheItem.getAmount() && fingerprint.isSimilar(cacheItem)) {
                     // free space!
                     int toAdd = Math.min(maxStack - cacheItem.getAmount(), amountToAdd);
 
@@ -966,6 +962,7 @@ public class ItemUtils {
         int toAdd = item.getAmount();
         final int maxStack = item.getMaxStackSize();
         final int containerSize = inventory.getSize();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
         // we can reduce calls to ItemStack.isSimilar() by caching what cells to look at
         if (check == null) {
@@ -985,7 +982,7 @@ public class ItemUtils {
                     // free slot!
                     toAdd -= Math.min(maxStack, toAdd);
                     check[i] = true;
-                } else if (maxStack > cacheItem.getAmount() && item.isSimilar(cacheItem)) {
+                } else if (maxStack > cacheItem.getAmount() && fingerprint.isSimilar(cacheItem)) {
                     // free space!
                     toAdd -= Math.min(maxStack - cacheItem.getAmount(), toAdd);
                     check[i] = true;
@@ -1026,6 +1023,35 @@ public class ItemUtils {
         return false;
     }
 
+    /**
+     * Add many items to this inventory at once, as much of each item as possible. <br>
+     * The inventory is read and written only once, see {@link InventorySnapshot} to add items over multiple calls.
+     *
+     * @param items     items to add, are not changed
+     * @param inventory the inventory to add the items to
+     *
+     * @return the parts of the items that did not fit
+     */
+    public static List<ItemStack> addItems(Collection<ItemStack> items, Inventory inventory) {
+        InventorySnapshot snapshot = new InventorySnapshot(inventory);
+        List<ItemStack> leftover = snapshot.addAll(items);
+        snapshot.apply();
+
+        return leftover;
+    }
+
+    /**
+     * Add many items to these contents at once, as much of each item as possible.
+     *
+     * @param items    items to add, are not changed
+     * @param contents the contents of an inventory, slots are replaced with the changed stacks
+     *
+     * @return the parts of the items that did not fit
+     */
+    public static List<ItemStack> addItems(Collection<ItemStack> items, ItemStack[] contents) {
+        return new InventorySnapshot(contents).addAll(items);
+    }
+
     public static XMaterial getDyeColor(char color) {
         switch (color) {
             case '0':
@@ -1082,6 +1108,7 @@ public class ItemUtils {
         // grab the amount to move and the max item stack size
         int toAdd = amount;
         final int maxStack = item.getMaxStackSize();
+        final ItemFingerprint fingerprint = ItemFingerprint.of(item);
 
         // we can reduce calls to ItemStack.isSimilar() by caching what cells to look at
         boolean[] check = new boolean[containerSize];
@@ -1095,7 +1122,7 @@ public class ItemUtils {
                     // free slot!
                     toAdd -= Math.min(maxStack, toAdd);
                     check[i] = true;
-                } else if (maxStack > cacheItem.getAmount() && item.isSimilar(cacheItem)) {
+                } else if (maxStack > cacheItem.getAmount() && fingerprint.isSimilar(cacheItem)) {
                     // free space!
                     toAdd -= Math.min(maxStack - cacheItem.getAmount(), toAdd);
                     check[i] = true;
@@ -1,27 +1,56 @@
 package com.craftaro.core.utils;
 
-import com.craftaro.core.http.SimpleHttpClient;
+import com.craftaro.core.CraftaroCoreConstants;
+import com.craftaro.core.http.AsyncHttpClient;
 import com.craftaro.core.http.minecraft.MinecraftApiClient;
+import com.craftaro.core.http.minecraft.ProfileStore;
+import com.craftaro.core.http.minecraft.UuidToProfileResult;
 import com.craftaro.core.nms.Nms;
 import com.craftaro.core.nms.entity.player.GameProfile;
 import com.cryptomorin.xseries.XMaterial;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public final class SkullItemCreator {
     private static final String STEVE_TEXTURE = "ewogICJ0aW1lc3RhbXAiIDogMTYyMTcxNTMxMjI5MCwKICAicHJvZmlsZUlkIiA6ICJiNTM5NTkyMjMwY2I0MmE0OWY5YTRlYmYxNmRlOTYwYiIsCiAgInByb2ZpbGVOYW1lIiA6ICJtYXJpYW5hZmFnIiwKICAic2lnbmF0dXJlUmVxdWlyZWQiIDogdHJ1ZSwKICAidGV4dHVyZXMiIDogewogICAgIlNLSU4iIDogewogICAgICAidXJsIiA6ICJodHRwOi8vdGV4dHVyZXMubWluZWNyYWZ0Lm5ldC90ZXh0dXJlLzFhNGFmNzE4NDU1ZDRhYWI1MjhlN2E2MWY4NmZhMjVlNmEzNjlkMTc2OGRjYjEzZjdkZjMxOWE3MTNlYjgxMGIiCiAgICB9CiAgfQp9";
     private static final String ALEX_TEXTURE = "rZvLQoZsgLYaoKqEuASopYAs7IAlZlsGkwagoM8ZX38cP9kalseZrWY5OHZVfoiftdQJ+lGOzkiFfyx6kNJDTZniLrnRa8sd3X6D65ZihT1sOm/RInCwxpS1K0zGCM2h9ErkWswfwaviIf7hJtrwk8/zL0bfzDk2IgX/IBvIZpVoYTfmQsVY9jgSwORrS9ObePGIfFgmThMoZnCYWQMVpS2+yTFA2wnw9hmisQK9UWBU+iBZv55bMmkMcyEuXw1w14DaEu+/M0UGD91LU4GmJLPA9T4GCuIV8GxOcraSVIajki1cMlOBQwIaibB2NE6KAwq1Zh6NnsNYucy6qFM+136lXfBchQ1Nx4FDRZQgt8VRqTMy/OQFpr2nTbWWbRU4gRFpKC3R0518DqUH0Qm612kPWniKku/QzUUBSe1PSVljBaZCyyRx0OB1a1/8MexboKRnPXuTDnmPa9UPfuH4VO0q+qYkjV2KUzP6e5vIP5aQ6USPrMie7MmAHFJzwAMIbLjgkTVx91GWtYqg/t7qBlvrdBRLIPPsy/DSOqa+2+4hABouVCPZrBMCMLzstPPQoqZAyiCqcKb2HqWSU0h9Bhx19yoIcbHCeI3zsQs8PqIBjUL4mO6VQT4lzHy0e3M61Xsdd8S1GtsakSetTvEtMdUwCEDfBA5PRRTLOVYTY+g=";
 
-    private static MinecraftApiClient minecraftApiClient = new MinecraftApiClient(new SimpleHttpClient());
+    private static AsyncHttpClient httpClient;
+    private static MinecraftApiClient minecraftApiClient;
+    private static ProfileStore profileStore;
+
+    /**
+     * Heads by texture, clones are handed out so the cached items are never modified
+     */
+    private static final Cache<String, ItemStack> HEAD_CACHE = CacheBuilder.newBuilder().maximumSize(512).build();
+    /**
+     * Heads by player UUID, kept no longer than the shortest time a {@link ProfileStore} keeps a profile
+     */
+    private static final Cache<UUID, ItemStack> UUID_HEAD_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(512)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .build();
+    private static final Map<UUID, CompletableFuture<ItemStack>> PENDING_UUID_LOOKUPS = new ConcurrentHashMap<>();
 
     public static ItemStack byProfile(GameProfile profile) {
         ItemStack item = Objects.requireNonNull(XMaterial.PLAYER_HEAD.parseItem());
@@ -36,11 +65,11 @@ public final class SkullItemCreator {
     }
 
     public static ItemStack byTextureValue(String textureValue) {
-        return byProfile(Nms.getImplementations().getPlayer().createProfileByTextureValue(textureValue));
+        return getCachedHead("value:" + textureValue, () -> byProfile(Nms.getImplementations().getPlayer().createProfileByTextureValue(textureValue)));
     }
 
     public static ItemStack byTextureUrl(String textureUrl) {
-        return byProfile(Nms.getImplementations().getPlayer().createProfileByUrl(textureUrl));
+        return getCachedHead("url:" + textureUrl, () -> byProfile(Nms.getImplementations().getPlayer().createProfileByUrl(textureUrl)));
     }
 
     public static ItemStack byTextureUrlHash(String textureUrlHash) {
@@ -65,6 +94,9 @@ public final class SkullItemCreator {
     /**
      * This method tries its best in determining the correct skin for a given UUID.
      * It tries to request the corresponding profile (with skin data) from Mojang's API.
+     * <br><br>
+     * Skins of offline players are cached on disk for a few days,
+     * concurrent requests for the same UUID share a single lookup.
      */
     public static CompletableFuture<ItemStack> byUuid(UUID uuid) {
         Player player = Bukkit.getPlayer(uuid);
@@ -72,15 +104,56 @@ public final class SkullItemCreator {
             return CompletableFuture.completedFuture(byPlayer(player));
         }
 
+        ItemStack cachedHead = UUID_HEAD_CACHE.getIfPresent(uuid);
+        if (cachedHead != null) {
+            return CompletableFuture.completedFuture(cachedHead.clone());
+        }
+
+        // the store is read in the background, until then the profile is fetched
+        ProfileStore.Entry storedProfile = getProfileStore().getIfLoaded(uuid);
+        if (storedProfile != null) {
+            ItemStack head = createHead(uuid, storedProfile.getProfile());
+            UUID_HEAD_CACHE.put(uuid, head.clone());
+            return CompletableFuture.completedFuture(head);
+        }
+
+        CompletableFuture<ItemStack> lookup = new CompletableFuture<>();
+        CompletableFuture<ItemStack> pendingLookup = PENDING_UUID_LOOKUPS.putIfAbsent(uuid, lookup);
+        if (pendingLookup != null) {
+            return pendingLookup.thenApply(ItemStack::clone);
+        }
+
+        // the fetch may complete right away, so it is started after registering the lookup
+        fetchByUuid(uuid).whenComplete((head, ex) -> {
+            if (head != null) {
+                UUID_HEAD_CACHE.put(uuid, head);
+            }
+            PENDING_UUID_LOOKUPS.remove(uuid, lookup);
+
+            if (ex != null) {
+                lookup.completeExceptionally(ex);
+            } else {
+                lookup.complete(head);
+            }
+        });
+
+        return lookup.thenApply(ItemStack::clone);
+    }
+
+    private static CompletableFuture<ItemStack> fetchByUuid(UUID uuid) {
         try {
             return Bukkit.getOfflinePlayer(uuid)
                     .getPlayerProfile()
                     .update()
                     .thenApply(profile -> {
-                        if (profile.getTextures().getSkin() == null) {
-                            return createDefaultSkullForUuid(uuid);
+                        UuidToProfileResult result = null;
+                        if (profile.getTextures().getSkin() != null) {
+                            String textureValue = Nms.getImplementations().getPlayer().createProfileByUrl(profile.getTextures().getSkin().toString()).getTextureValue();
+                            result = UuidToProfileResult.of(uuid, profile.getName() != null ? profile.getName() : "by_SongodaCore", textureValue, null);
                         }
-                        return byTextureUrl(profile.getTextures().getSkin().toString());
+
+                        getProfileStore().put(uuid, result);
+                        return createHead(uuid, result);
                     });
         } catch (NoSuchMethodError ignored) {
             // old spigot api version that doesn't have OfflinePlayer#getPlayerProfile()
@@ -90,13 +163,83 @@ public final class SkullItemCreator {
             return CompletableFuture.completedFuture(createDefaultSkullForUuid(uuid));
         }
 
-        return minecraftApiClient.fetchProfile(uuid)
-                .thenApply((profile) -> {
-                    if (profile == null) {
-                        return createDefaultSkullForUuid(uuid);
-                    }
-                    return byProfile(profile.createGameProfile());
-                });
+        return getMinecraftApiClient().fetchProfile(uuid)
+                .thenApply(profile -> createHead(uuid, profile));
+    }
+
+    /**
+     * @param profile the profile with the skin, or null if the player has none
+     */
+    private static ItemStack createHead(UUID uuid, @Nullable UuidToProfileResult profile) {
+        if (profile == null) {
+            return createDefaultSkullForUuid(uuid);
+        }
+
+        // the texture signature is kept, so the profile on the head is the one Mojang signed
+        return byProfile(profile.createGameProfile());
+    }
+
+    /**
+     * Starts reading the skins cached on disk in the background, called when the plugin is enabled
+     */
+    public static void loadProfileStore() {
+        getProfileStore().loadAsync();
+    }
+
+    /**
+     * Stops the background threads used to fetch skins, called when the plugin is disabled.
+     * They are started again if another skin has to be fetched.
+     */
+    public static synchronized void shutdown() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+            httpClient = null;
+            minecraftApiClient = null;
+        }
+
+        if (profileStore != null) {
+            profileStore.save();
+        }
+    }
+
+    private static synchronized MinecraftApiClient getMinecraftApiClient() {
+        if (minecraftApiClient == null) {
+            httpClient = new AsyncHttpClient();
+            minecraftApiClient = new MinecraftApiClient(httpClient, getProfileStore());
+        }
+
+        return minecraftApiClient;
+    }
+
+    private static synchronized ProfileStore getProfileStore() {
+        if (profileStore == null) {
+            profileStore = new ProfileStore(getProfileStoreFile());
+        }
+
+        return profileStore;
+    }
+
+    /**
+     * @return the file in the core's shared folder, named after the plugin that contains this copy of the core,
+     * so plugins never write the same file. Null if not loaded by a plugin.
+     */
+    private static File getProfileStoreFile() {
+        try {
+            JavaPlugin plugin = JavaPlugin.getProvidingPlugin(SkullItemCreator.class);
+            return new File(plugin.getDataFolder().getParentFile(), CraftaroCoreConstants.getProjectName() + "/cache/profiles-" + plugin.getName() + ".json");
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return null;
+        }
+    }
+
+    private static ItemStack getCachedHead(String key, Callable<ItemStack> creator) {
+        try {
+            return HEAD_CACHE.get(key, creator).clone();
+        } catch (ExecutionException ex) {
+            throw new RuntimeException(ex.getCause());
+        } catch (UncheckedExecutionException ex) {
+            throw (RuntimeException) ex.getCause();
+        }
     }
 
     private static Method skullMetaSetProfile = null;
@@ -0,0 +1,300 @@
+package com.craftaro.core.world;
+
+import com.craftaro.core.database.SerializedLocation;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Maps block locations to values, e.g. the spawners, hoppers or generators placed by players. <br>
+ * Locations are stored as a world id of {@link WorldRegistry} and block coordinates packed by
+ * {@link SerializedLocation#packBlock(int, int, int)} in primitive arrays, so millions of entries
+ * don't create a {@link Location} or boxed key each and lookups don't compare world names.
+ * <br><br>
+ * This class is not thread-safe, it is meant to be used on the main thread.
+ *
+ * @param <T> the type of the values, null values are not allowed
+ */
+public class BlockLocationIndex<T> {
+    @SuppressWarnings("unchecked")
+    private LongMap<T>[] worlds = new LongMap[0];
+    private int size;
+
+    public @Nullable T get(@NotNull Block block) {
+        return get(WorldRegistry.getId(block.getWorld()), SerializedLocation.packBlock(block.getX(), block.getY(), block.getZ()));
+    }
+
+    public @Nullable T get(@NotNull Location location) {
+        return get(WorldRegistry.getId(location.getWorld()), SerializedLocation.packBlock(location));
+    }
+
+    public @Nullable T get(@NotNull World world, int x, int y, int z) {
+        return get(WorldRegistry.getId(world), SerializedLocation.packBlock(x, y, z));
+    }
+
+    public @Nullable T get(int worldId, long packedBlock) {
+        LongMap<T> map = getWorldMap(worldId);
+        return map != null ? map.get(packedBlock) : null;
+    }
+
+    public boolean contains(@NotNull Block block) {
+        return get(block) != null;
+    }
+
+    public boolean contains(@NotNull Location location) {
+        return get(location) != null;
+    }
+
+    /**
+     * @return the previous value at the location, or null if there was none
+     */
+    public @Nullable T put(@NotNull Block block, @NotNull T value) {
+        return put(WorldRegistry.getId(block.getWorld()), SerializedLocation.packBlock(block.getX(), block.getY(), block.getZ()), value);
+    }
+
+    /**
+     * @return the previous value at the location, or null if there was none
+     */
+    public @Nullable T put(@NotNull Location location, @NotNull T value) {
+        return put(WorldRegistry.getId(location.getWorld()), SerializedLocation.packBlock(location), value);
+    }
+
+    /**
+     * @return the previous value at the location, or null if there was none
+     */
+    public @Nullable T put(@NotNull World world, int x, int y, int z, @NotNull T value) {
+        return put(WorldRegistry.getId(world), SerializedLocation.packBlock(x, y, z), value);
+    }
+
+    /**
+     * @return the previous value at the location, or null if there was none
+     */
+    public @Nullable T put(int worldId, long packedBlock, @NotNull T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+
+        if (worldId >= this.worlds.length) {
+            this.worlds = Arrays.copyOf(this.worlds, worldId + 1);
+        }
+
+        LongMap<T> map = this.worlds[worldId];
+        if (map == null) {
+            map = new LongMap<>();
+            this.worlds[worldId] = map;
+        }
+
+        T previous = map.put(packedBlock, value);
+        if (previous == null) {
+            ++this.size;
+        }
+        return previous;
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    public @Nullable T remove(@NotNull Block block) {
+        return remove(WorldRegistry.getId(block.getWorld()), SerializedLocation.packBlock(block.getX(), block.getY(), block.getZ()));
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    public @Nullable T remove(@NotNull Location location) {
+        return remove(WorldRegistry.getId(location.getWorld()), SerializedLocation.packBlock(location));
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    public @Nullable T remove(@NotNull World world, int x, int y, int z) {
+        return remove(WorldRegistry.getId(world), SerializedLocation.packBlock(x, y, z));
+    }
+
+    /**
+     * @return the removed value, or null if there was none
+     */
+    public @Nullable T remove(int worldId, long packedBlock) {
+        LongMap<T> map = getWorldMap(worldId);
+        if (map == null) {
+            return null;
+        }
+
+        T removed = map.remove(packedBlock);
+        if (removed != null) {
+            --this.size;
+        }
+        return removed;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.worlds, null);
+        this.size = 0;
+    }
+
+    /**
+     * Removes all entries of a world, e.g. when it is deleted
+     */
+    public void clear(@NotNull World world) {
+        int worldId = WorldRegistry.getId(world);
+
+        LongMap<T> map = getWorldMap(worldId);
+        if (map != null) {
+            this.size -= map.size;
+            this.worlds[worldId] = null;
+        }
+    }
+
+    /**
+     * Calls the consumer for every entry, the index must not be changed meanwhile
+     */
+    public void forEach(@NotNull EntryConsumer<T> consumer) {
+        for (int worldId = 0; worldId < this.worlds.length; ++worldId) {
+            LongMap<T> map = this.worlds[worldId];
+            if (map == null) {
+                continue;
+            }
+
+            String worldName = WorldRegistry.getName(worldId);
+            for (int i = 0; i < map.values.length; ++i) {
+                @SuppressWarnings("unchecked")
+                T value = (T) map.values[i];
+
+                if (value != null) {
+                    long packedBlock = map.keys[i];
+                    consumer.accept(worldName,
+                            SerializedLocation.unpackBlockX(packedBlock),
+                            SerializedLocation.unpackBlockY(packedBlock),
+                            SerializedLocation.unpackBlockZ(packedBlock),
+                            value);
+                }
+            }
+        }
+    }
+
+    private LongMap<T> getWorldMap(int worldId) {
+        return worldId < this.worlds.length ? this.worlds[worldId] : null;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<T> {
+        void accept(String worldName, int x, int y, int z, T value);
+    }
+
+    /**
+     * Open addressing hash map with linear probing, a null value marks an empty slot
+     */
+    private static final class LongMap<T> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+        private Object[] values = new Object[INITIAL_CAPACITY];
+        private int mask = INITIAL_CAPACITY - 1;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        T get(long key) {
+            for (int i = slot(key); ; i = (i + 1) & this.mask) {
+                Object value = this.values[i];
+
+                if (value == null) {
+                    return null;
+                }
+                if (this.keys[i] == key) {
+                    return (T) value;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T put(long key, T value) {
+            int i = slot(key);
+            for (; this.values[i] != null; i = (i + 1) & this.mask) {
+                if (this.keys[i] == key) {
+                    T previous = (T) this.values[i];
+                    this.values[i] = value;
+                    return previous;
+                }
+            }
+
+            this.keys[i] = key;
+            this.values[i] = value;
+
+            if (++this.size > (this.mask + 1) / 4 * 3) {
+                resize();
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        T remove(long key) {
+            for (int i = slot(key); this.values[i] != null; i = (i + 1) & this.mask) {
+                if (this.keys[i] == key) {
+                    T removed = (T) this.values[i];
+                    shiftBack(i);
+                    --this.size;
+                    return removed;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Moves following entries into the freed slot, so lookups don't stop early at the gap
+         */
+        private void shiftBack(int gap) {
+            for (int i = (gap + 1) & this.mask; this.values[i] != null; i = (i + 1) & this.mask) {
+                int ideal = slot(this.keys[i]);
+
+                // the entry may move to the gap if the gap lies between its ideal slot and its current slot
+                if (((i - ideal) & this.mask) >= ((i - gap) & this.mask)) {
+                    this.keys[gap] = this.keys[i];
+                    this.values[gap] = this.values[i];
+                    gap = i;
+                }
+            }
+
+            this.values[gap] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+
+            this.keys = new long[oldKeys.length * 2];
+            this.values = new Object[oldValues.length * 2];
+            this.mask = this.keys.length - 1;
+
+            for (int i = 0; i < oldValues.length; ++i) {
+                if (oldValues[i] != null) {
+                    int slot = slot(oldKeys[i]);
+                    while (this.values[slot] != null) {
+                        slot = (slot + 1) & this.mask;
+                    }
+
+                    this.keys[slot] = oldKeys[i];
+                    this.values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & this.mask;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.craftaro.core.world;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every world name a small number, so locations can be stored as primitives instead of
+ * keeping a world name per location. <br>
+ * The ids are only valid while the server is running and must not be saved, save the world name instead.
+ * <br><br>
+ * Loaded worlds are cached by id until they are unloaded, so {@link #getWorld(int)} does not look up the world by name.
+ */
+public final class WorldRegistry {
+    private static final int LISTENER_PENDING = 0;
+    private static final int LISTENER_REGISTERED = 1;
+    private static final int LISTENER_UNAVAILABLE = 2;
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[0];
+    /**
+     * The loaded worlds by id, replaced as a whole on changes
+     */
+    private static volatile World[] worlds = new World[0];
+    private static int listenerState = LISTENER_PENDING;
+
+    private WorldRegistry() {
+    }
+
+    public static int getId(@NotNull World world) {
+        return getId(world.getName());
+    }
+
+    public static int getId(@NotNull String worldName) {
+        Integer id = IDS.get(worldName);
+        if (id != null) {
+            return id;
+        }
+
+        return register(worldName);
+    }
+
+    /**
+     * @return the name of the world with the given id
+     *
+     * @throws IllegalArgumentException if no world has the id
+     */
+    public static @NotNull String getName(int id) {
+        String[] names = WorldRegistry.names;
+        if (id < 0 || id >= names.length) {
+            throw new IllegalArgumentException("Unknown world id " + id);
+        }
+
+        return names[id];
+    }
+
+    /**
+     * @return the world with the given id, or null if it is not loaded
+     */
+    public static @Nullable World getWorld(int id) {
+        World[] worlds = WorldRegistry.worlds;
+        if (id >= 0 && id < worlds.length && worlds[id] != null) {
+            return worlds[id];
+        }
+
+        World world = Bukkit.getWorld(getName(id));
+        if (world != null && listenForUnloads()) {
+            cacheWorld(id, world);
+        }
+        return world;
+    }
+
+    /**
+     * @return the world with the given name, or null if it is not loaded
+     */
+    public static @Nullable World getWorld(@NotNull String worldName) {
+        return getWorld(getId(worldName));
+    }
+
+    private static synchronized void cacheWorld(int id, World world) {
+        World[] worlds = Arrays.copyOf(WorldRegistry.worlds, Math.max(WorldRegistry.worlds.length, id + 1));
+        worlds[id] = world;
+        WorldRegistry.worlds = worlds;
+    }
+
+    private static synchronized void uncacheWorld(World world) {
+        Integer id = IDS.get(world.getName());
+        if (id != null && id < WorldRegistry.worlds.length) {
+            World[] worlds = WorldRegistry.worlds.clone();
+            worlds[id] = null;
+            WorldRegistry.worlds = worlds;
+        }
+    }
+
+    /**
+     * Worlds are only cached while a listener of the plugin containing this class removes them when they are unloaded
+     *
+     * @return true if the listener is registered
+     */
+    private static synchronized boolean listenForUnloads() {
+        if (listenerState != LISTENER_PENDING) {
+            return listenerState == LISTENER_REGISTERED;
+        }
+
+        try {
+            Bukkit.getPluginManager().registerEvents(new Listener() {
+                @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+                public void onWorldUnload(WorldUnloadEvent event) {
+                    uncacheWorld(event.getWorld());
+                }
+            }, JavaPlugin.getProvidingPlugin(WorldRegistry.class));
+
+            listenerState = LISTENER_REGISTERED;
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            // not loaded by a plugin
+            listenerState = LISTENER_UNAVAILABLE;
+        } catch (IllegalPluginAccessException ignored) {
+            // the plugin is not enabled yet, try again later
+        }
+
+        return listenerState == LISTENER_REGISTERED;
+    }
+
+    private static synchronized int register(String worldName) {
+        Integer id = IDS.get(worldName);
+        if (id != null) {
+            return id;
+        }
+
+        String[] names = Arrays.copyOf(WorldRegistry.names, WorldRegistry.names.length + 1);
+        names[names.length - 1] = worldName;
+
+        // publish the name before the id, so every id handed out can be resolved
+        WorldRegistry.names = names;
+        IDS.put(worldName, names.length - 1);
+        return names.length - 1;
+    }
+}
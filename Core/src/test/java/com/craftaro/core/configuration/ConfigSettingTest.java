@@ -0,0 +1,56 @@
+package com.craftaro.core.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigSettingTest {
+    @Test
+    void cachedValueIsRefreshedAfterSet() {
+        Config config = new Config();
+        ConfigSetting setting = new ConfigSetting(config, "amount", 5);
+
+        assertEquals(5, setting.getInt());
+        assertEquals("5", setting.getString());
+
+        config.set("amount", 12);
+        assertEquals(12, setting.getInt());
+        assertEquals(12L, setting.getLong());
+        assertEquals(12.0, setting.getDouble());
+        assertEquals("12", setting.getString());
+
+        config.set("amount", "text");
+        assertEquals(0, setting.getInt());
+        assertEquals(7, setting.getInt(7));
+        assertEquals('t', setting.getChar());
+    }
+
+    @Test
+    void cachedValueIsRefreshedAfterLoad() throws Exception {
+        Config config = new Config();
+        ConfigSetting setting = new ConfigSetting(config, "enabled", false);
+
+        assertFalse(setting.getBoolean());
+
+        config.loadFromString("enabled: true\n");
+        assertTrue(setting.getBoolean());
+
+        config.loadFromString("enabled: false\n");
+        assertFalse(setting.getBoolean());
+    }
+
+    @Test
+    void cachedValueIsRefreshedAfterClearDefaults() {
+        Config config = new Config();
+        ConfigSetting setting = new ConfigSetting(config, "name", "default");
+
+        assertEquals("default", setting.getString());
+
+        config.clearDefaults();
+        assertNull(setting.getString());
+        assertEquals("fallback", setting.getString("fallback"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.craftaro.core.data.lazy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyListTest {
+    @Test
+    void loadsSuppliersOnFirstUse() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<String> list = new LazyList<>(null);
+        list.add(() -> "a" + calls.incrementAndGet());
+        list.add(() -> "b" + calls.incrementAndGet());
+
+        assertEquals(0, calls.get());
+        assertFalse(list.isEmpty());
+
+        assertEquals(Arrays.asList("a1", "b2"), list.getList());
+        assertEquals(Arrays.asList("a1", "b2"), list.getList());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void keepsSuppliersAfterValues() {
+        LazyList<String> list = new LazyList<>(new ArrayList<>(Arrays.asList("existing")));
+        list.add(() -> "supplied");
+        list.add("added");
+
+        assertEquals(Arrays.asList("existing", "added", "supplied"), list.getList());
+    }
+
+    @Test
+    void addsSuppliersDirectlyAfterLoad() {
+        LazyList<String> list = new LazyList<>(null);
+        list.getList();
+
+        AtomicInteger calls = new AtomicInteger();
+        list.add(() -> "a" + calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+        assertEquals(Arrays.asList("a1"), list.getList());
+    }
+
+    @Test
+    void growsBeyondTheInitialCapacity() {
+        LazyList<Integer> list = new LazyList<>(null);
+        for (int i = 0; i < 100; ++i) {
+            final int value = i;
+            list.add(() -> value);
+        }
+
+        List<Integer> values = list.getList();
+        assertEquals(100, values.size());
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    void parallelLoadKeepsTheOrder() {
+        LazyList<Integer> list = new LazyList<>(null, true);
+        for (int i = 0; i < 10_000; ++i) {
+            final int value = i;
+            list.add(() -> value);
+        }
+
+        List<Integer> values = list.getList();
+        assertEquals(10_000, values.size());
+        for (int i = 0; i < 10_000; ++i) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    void clearBeforeLoad() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyList<String> list = new LazyList<>(null);
+        list.add("value");
+        list.add(() -> "a" + calls.incrementAndGet());
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertTrue(list.getList().isEmpty());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void clearAfterLoad() {
+        LazyList<String> list = new LazyList<>(null);
+        list.add(() -> "a");
+        list.getList();
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertTrue(list.getList().isEmpty());
+    }
+
+    @Test
+    void getSet() {
+        LazyList<String> list = new LazyList<>(null);
+        list.add(() -> "a");
+        list.add(() -> "a");
+        list.add(() -> "b");
+
+        assertEquals(2, list.getSet().size());
+    }
+}
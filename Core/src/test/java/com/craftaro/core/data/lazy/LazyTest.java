@@ -0,0 +1,116 @@
+package com.craftaro.core.data.lazy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyTest {
+    @Test
+    void loadsOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = new Lazy<String>().set(() -> "value" + calls.incrementAndGet());
+
+        assertEquals(0, calls.get());
+        assertEquals("value1", lazy.get());
+        assertEquals("value1", lazy.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void loadsNullOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = new Lazy<String>().set(() -> {
+            calls.incrementAndGet();
+            return null;
+        });
+
+        assertNull(lazy.get());
+        assertNull(lazy.get());
+        assertEquals("default", lazy.getOrDefault("default"));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void withoutSupplier() {
+        Lazy<String> lazy = new Lazy<>();
+
+        assertNull(lazy.get());
+        assertEquals("value", lazy.set("value").get());
+        assertNull(lazy.reset().get());
+    }
+
+    @Test
+    void resetAfterLoadDoesNotLoadAgain() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = new Lazy<String>().set(() -> "value" + calls.incrementAndGet());
+
+        assertEquals("value1", lazy.get());
+        assertNull(lazy.reset().get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void setValueBeforeLoad() {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<String> lazy = new Lazy<String>().set(() -> "loaded" + calls.incrementAndGet());
+
+        assertEquals("set", lazy.set("set").get());
+        assertEquals(0, calls.get());
+
+        // the supplier is still pending, so it is used once the value is reset
+        assertEquals("loaded1", lazy.reset().get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void setSupplierAfterValue() {
+        Lazy<String> lazy = new Lazy<String>().set("value");
+
+        assertEquals("value", lazy.set(() -> "loaded").get());
+        assertEquals("loaded", lazy.reset().get());
+    }
+
+    @Test
+    void removeSupplierBeforeLoad() {
+        Lazy<String> lazy = new Lazy<String>().set(() -> "loaded");
+
+        assertNull(lazy.set((Supplier<String>) null).get());
+    }
+
+    @Test
+    void isLoadedTellsIfTheSupplierIsPending() {
+        Lazy<String> lazy = new Lazy<String>().set(() -> "loaded");
+
+        assertTrue(lazy.isLoaded());
+        lazy.get();
+        assertFalse(lazy.isLoaded());
+    }
+
+    @Test
+    void loadsOnceWithConcurrentReaders() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Lazy<Integer> lazy = new Lazy<Integer>().set(calls::incrementAndGet);
+
+        Thread[] threads = new Thread[8];
+        Integer[] results = new Integer[threads.length];
+        for (int i = 0; i < threads.length; ++i) {
+            final int thread = i;
+            threads[i] = new Thread(() -> results[thread] = lazy.get());
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (Integer result : results) {
+            assertEquals(1, result);
+        }
+        assertEquals(1, calls.get());
+    }
+}
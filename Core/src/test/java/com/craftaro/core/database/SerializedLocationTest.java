@@ -0,0 +1,57 @@
+package com.craftaro.core.database;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SerializedLocationTest {
+    @Test
+    void packBlockRoundTrip() {
+        assertRoundTrip(0, 0, 0);
+        assertRoundTrip(1, 64, -1);
+        assertRoundTrip(-1, -1, -1);
+        assertRoundTrip(-30_000_000, -64, 30_000_000);
+        assertRoundTrip(12_345, 319, -67_890);
+    }
+
+    @Test
+    void packBlockLimits() {
+        assertRoundTrip(33_554_431, 2047, 33_554_431);
+        assertRoundTrip(-33_554_432, -2048, -33_554_432);
+        assertRoundTrip(-33_554_432, 2047, 33_554_431);
+    }
+
+    @Test
+    void negativeCoordinatesDoNotAffectOtherAxes() {
+        long packed = SerializedLocation.packBlock(-1, 0, 0);
+        assertEquals(-1, SerializedLocation.unpackBlockX(packed));
+        assertEquals(0, SerializedLocation.unpackBlockY(packed));
+        assertEquals(0, SerializedLocation.unpackBlockZ(packed));
+
+        packed = SerializedLocation.packBlock(0, -1, 0);
+        assertEquals(0, SerializedLocation.unpackBlockX(packed));
+        assertEquals(-1, SerializedLocation.unpackBlockY(packed));
+        assertEquals(0, SerializedLocation.unpackBlockZ(packed));
+
+        packed = SerializedLocation.packBlock(0, 0, -1);
+        assertEquals(0, SerializedLocation.unpackBlockX(packed));
+        assertEquals(0, SerializedLocation.unpackBlockY(packed));
+        assertEquals(-1, SerializedLocation.unpackBlockZ(packed));
+    }
+
+    @Test
+    void packBlockIsUnique() {
+        assertNotEquals(SerializedLocation.packBlock(1, 2, 3), SerializedLocation.packBlock(3, 2, 1));
+        assertNotEquals(SerializedLocation.packBlock(-1, 0, 0), SerializedLocation.packBlock(0, 0, -1));
+        assertNotEquals(SerializedLocation.packBlock(0, -1, 0), SerializedLocation.packBlock(0, 0, -1));
+    }
+
+    private static void assertRoundTrip(int x, int y, int z) {
+        long packed = SerializedLocation.packBlock(x, y, z);
+
+        assertEquals(x, SerializedLocation.unpackBlockX(packed));
+        assertEquals(y, SerializedLocation.unpackBlockY(packed));
+        assertEquals(z, SerializedLocation.unpackBlockZ(packed));
+    }
+}
@@ -0,0 +1,114 @@
+package com.craftaro.core.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncHttpClientTest {
+    private static final String URL = "https://example.com/resource";
+
+    private AsyncHttpClient client;
+
+    @AfterEach
+    void shutdown() {
+        if (this.client != null) {
+            this.client.shutdown();
+        }
+    }
+
+    @Test
+    void cachesFreshResponses() throws Exception {
+        MockHttpClient transport = new MockHttpClient(response(200, "cached").withHeader("Cache-Control", "max-age=60"));
+        this.client = new AsyncHttpClient(transport, 4, 0);
+
+        assertEquals("cached", this.client.getAsync(URL).get().getBodyAsString());
+        assertEquals("cached", this.client.getAsync(URL).get().getBodyAsString());
+
+        assertEquals(1, transport.callsOnRequest.size());
+    }
+
+    @Test
+    void doesNotCacheNoStore() throws Exception {
+        MockHttpClient transport = new MockHttpClient(response(200, "body").withHeader("Cache-Control", "no-store, max-age=60"));
+        this.client = new AsyncHttpClient(transport, 4, 0);
+
+        this.client.getAsync(URL).get();
+        this.client.getAsync(URL).get();
+
+        assertEquals(2, transport.callsOnRequest.size());
+    }
+
+    @Test
+    void revalidatesWithETag() throws Exception {
+        MockHttpClient transport = new MockHttpClient(response(304, ""));
+        transport.queuedResponses.add(response(200, "original").withHeader("ETag", "\"v1\"").withHeader("Cache-Control", "no-cache"));
+        this.client = new AsyncHttpClient(transport, 4, 0);
+
+        assertEquals("original", this.client.getAsync(URL).get().getBodyAsString());
+
+        HttpResponse revalidated = this.client.getAsync(URL).get();
+        assertEquals(200, revalidated.getResponseCode());
+        assertEquals("original", revalidated.getBodyAsString());
+
+        assertEquals(2, transport.callsOnRequest.size());
+        assertEquals("\"v1\"", transport.headersOnRequest.get(1).get("If-None-Match"));
+    }
+
+    @Test
+    void retriesServerErrors() throws Exception {
+        MockHttpClient transport = new MockHttpClient(response(200, "ok"));
+        transport.queuedResponses.add(response(503, "").withHeader("Retry-After", "0"));
+        this.client = new AsyncHttpClient(transport, 4, 2);
+
+        assertEquals("ok", this.client.getAsync(URL).get().getBodyAsString());
+        assertEquals(2, transport.callsOnRequest.size());
+    }
+
+    @Test
+    void doesNotRetryPost() throws Exception {
+        MockHttpClient transport = new MockHttpClient(response(503, ""));
+        this.client = new AsyncHttpClient(transport, 4, 2);
+
+        assertEquals(503, this.client.requestAsync("POST", URL, null, new byte[] {1}).get().getResponseCode());
+        assertEquals(1, transport.callsOnRequest.size());
+    }
+
+    @Test
+    void limitsRequestsPerHost() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        HttpClient transport = (method, url, headers, body) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            } finally {
+                running.decrementAndGet();
+            }
+            return response(200, url);
+        };
+        this.client = new AsyncHttpClient(transport, 2, 0);
+
+        List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            futures.add(this.client.requestAsync("POST", URL + "/" + i, null, null));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+        assertTrue(maxRunning.get() <= 2);
+        assertEquals(URL + "/7", futures.get(7).get().getBodyAsString());
+    }
+
+    private static MockHttpResponse response(int responseCode, String body) {
+        return new MockHttpResponse(responseCode, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
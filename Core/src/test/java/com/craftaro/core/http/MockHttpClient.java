@@ -2,13 +2,22 @@ package com.craftaro.core.http;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class MockHttpClient implements HttpClient {
     public HttpResponse returnValue;
     public List<String> callsOnGet = new LinkedList<>();
+    public List<String> callsOnRequest = Collections.synchronizedList(new LinkedList<>());
+    public List<Map<String, String>> headersOnRequest = Collections.synchronizedList(new LinkedList<>());
+    /**
+     * Returned by {@link #request(String, String, Map, byte[])} in order before falling back to {@link #returnValue}
+     */
+    public Queue<HttpResponse> queuedResponses = new ConcurrentLinkedQueue<>();
 
     public MockHttpClient(HttpResponse returnValue) {
         this.returnValue = returnValue;
@@ -23,6 +32,10 @@ public class MockHttpClient implements HttpClient {
 
     @Override
     public @NotNull HttpResponse request(String method, String url, Map<String, String> headers, byte[] body) {
-        throw new UnsupportedOperationException("Not implemented");
+        this.callsOnRequest.add(method + " " + url);
+        this.headersOnRequest.add(headers);
+
+        HttpResponse response = this.queuedResponses.poll();
+        return response != null ? response : this.returnValue;
     }
 }
@@ -1,16 +1,26 @@
 package com.craftaro.core.http;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class MockHttpResponse implements HttpResponse {
     public int responseCode;
     public byte[] body;
+    public Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
 
     public MockHttpResponse(int responseCode, byte[] body) {
         this.responseCode = responseCode;
         this.body = body;
     }
 
+    public MockHttpResponse withHeader(String name, String value) {
+        this.headers.put(name, value);
+        return this;
+    }
+
     public int getResponseCode() {
         return this.responseCode;
     }
@@ -22,4 +32,9 @@ public class MockHttpResponse implements HttpResponse {
     public String getBodyAsString() {
         return new String(getBody(), StandardCharsets.UTF_8);
     }
+
+    @Override
+    public @NotNull Map<String, String> getHeaders() {
+        return this.headers;
+    }
 }
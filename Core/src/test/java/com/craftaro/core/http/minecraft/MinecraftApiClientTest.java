@@ -0,0 +1,102 @@
+package com.craftaro.core.http.minecraft;
+
+import com.craftaro.core.http.HttpResponse;
+import com.craftaro.core.http.MockHttpClient;
+import com.craftaro.core.http.MockHttpResponse;
+import com.craftaro.core.http.UnexpectedHttpStatusException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinecraftApiClientTest {
+    private static final UUID UUID_1 = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+    private static final UUID UUID_2 = UUID.fromString("853c80ef-3c37-49fd-aa49-938b674adae6");
+
+    @Test
+    void storesProfiles() throws Exception {
+        MockHttpClient httpClient = new MockHttpClient(response(200, "{\"id\":\"069a79f444e94726a5befca90e38aaf5\",\"name\":\"Notch\"}"));
+        ProfileStore store = new ProfileStore(null);
+        MinecraftApiClient client = new MinecraftApiClient(httpClient, store);
+
+        assertEquals("Notch", client.fetchProfile(UUID_1).get().getName());
+        assertEquals("Notch", client.fetchProfile(UUID_1).get().getName());
+
+        assertEquals(1, httpClient.callsOnGet.size());
+        assertNotNull(store.get(UUID_1));
+    }
+
+    @Test
+    void storesMissingProfiles() throws Exception {
+        MockHttpClient httpClient = new MockHttpClient(response(404, ""));
+        ProfileStore store = new ProfileStore(null);
+        MinecraftApiClient client = new MinecraftApiClient(httpClient, store);
+
+        assertNull(client.fetchProfile(UUID_1).get());
+        assertNull(client.fetchProfile(UUID_1).get());
+
+        assertEquals(1, httpClient.callsOnGet.size());
+        assertNull(store.get(UUID_1).getProfile());
+    }
+
+    @Test
+    void failsOnUnexpectedStatus() {
+        MockHttpClient httpClient = new MockHttpClient(response(429, "{\"error\":\"TooManyRequestsException\"}"));
+        ProfileStore store = new ProfileStore(null);
+        MinecraftApiClient client = new MinecraftApiClient(httpClient, store);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> client.fetchProfile(UUID_1).get());
+        assertInstanceOf(UnexpectedHttpStatusException.class, ex.getCause());
+        assertEquals(429, ((UnexpectedHttpStatusException) ex.getCause()).responseCode);
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void fallsBackToMojangOnUnexpectedStatus() throws Exception {
+        MockHttpClient httpClient = new MockHttpClient(response(200, "{\"id\":\"069a79f444e94726a5befca90e38aaf5\",\"name\":\"Notch\"}")) {
+            @Override
+            public @NotNull HttpResponse get(String url) {
+                HttpResponse response = super.get(url);
+                return url.contains("api.sprax2013.de") ? response(429, "") : response;
+            }
+        };
+        MinecraftApiClient client = new MinecraftApiClient(httpClient, new ProfileStore(null));
+
+        assertEquals("Notch", client.fetchProfile(UUID_1).get().getName());
+        assertEquals(2, httpClient.callsOnGet.size());
+        assertTrue(httpClient.callsOnGet.get(0).contains("api.sprax2013.de"));
+        assertTrue(httpClient.callsOnGet.get(1).contains("sessionserver.mojang.com"));
+
+        // SpraxAPI is skipped for a while after it failed
+        client.fetchProfile(UUID_2).get();
+        assertEquals(3, httpClient.callsOnGet.size());
+        assertTrue(httpClient.callsOnGet.get(2).contains("sessionserver.mojang.com"));
+    }
+
+    @Test
+    void fetchProfilesRequestsEveryUuidOnce() throws Exception {
+        MockHttpClient httpClient = new MockHttpClient(response(204, ""));
+        MinecraftApiClient client = new MinecraftApiClient(httpClient, new ProfileStore(null));
+
+        Map<UUID, UuidToProfileResult> profiles = client.fetchProfiles(Arrays.asList(UUID_1, UUID_2, UUID_1)).get();
+
+        assertEquals(0, profiles.size());
+        assertEquals(2, httpClient.callsOnGet.size());
+    }
+
+    private static MockHttpResponse response(int responseCode, String body) {
+        return new MockHttpResponse(responseCode, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package com.craftaro.core.http.minecraft;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfileStoreTest {
+    private static final UUID UUID_1 = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    @Test
+    void getIfLoadedDoesNotWaitForTheFile(@TempDir File dir) throws InterruptedException {
+        File file = new File(dir, "profiles.json");
+
+        ProfileStore savedStore = new ProfileStore(file);
+        savedStore.put(UUID_1, null);
+        savedStore.save();
+        assertTrue(file.exists());
+
+        ProfileStore store = new ProfileStore(file);
+        assertNull(store.getIfLoaded(UUID_1));
+
+        for (int i = 0; i < 100 && !store.isLoaded(); ++i) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(store.isLoaded());
+        assertNotNull(store.getIfLoaded(UUID_1));
+    }
+
+    @Test
+    void storeWithoutFileIsLoadedRightAway() {
+        ProfileStore store = new ProfileStore(null);
+        store.put(UUID_1, null);
+
+        assertNotNull(store.getIfLoaded(UUID_1));
+    }
+}
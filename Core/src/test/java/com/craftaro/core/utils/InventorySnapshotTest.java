@@ -0,0 +1,104 @@
+package com.craftaro.core.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class InventorySnapshotTest {
+    private MockedStatic<Bukkit> server;
+
+    @BeforeEach
+    void setUp() {
+        // items without meta, so no server is needed to compare them
+        ItemFactory itemFactory = Mockito.mock(ItemFactory.class);
+        this.server = Mockito.mockStatic(Bukkit.class);
+        this.server.when(Bukkit::getItemFactory).thenReturn(itemFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.close();
+    }
+
+    @Test
+    void fillsPartialStacksFirst() {
+        ItemStack partial = new ItemStack(Material.STONE, 60);
+        ItemStack[] contents = new ItemStack[] {partial, null, new ItemStack(Material.STONE, 10)};
+        InventorySnapshot snapshot = new InventorySnapshot(contents);
+
+        assertEquals(0, snapshot.add(new ItemStack(Material.STONE, 20)));
+
+        assertEquals(64, contents[0].getAmount());
+        assertNull(contents[1]);
+        assertEquals(26, contents[2].getAmount());
+        // the stacks of the inventory are replaced, not changed
+        assertEquals(60, partial.getAmount());
+    }
+
+    @Test
+    void respectsTheStackSizeOfItems() {
+        ItemStack[] contents = new ItemStack[3];
+        InventorySnapshot snapshot = new InventorySnapshot(contents);
+
+        assertEquals(0, snapshot.add(new ItemStack(Material.ENDER_PEARL, 20)));
+        assertEquals(0, snapshot.add(new ItemStack(Material.ENDER_PEARL, 4)));
+
+        assertEquals(16, contents[0].getAmount());
+        assertEquals(8, contents[1].getAmount());
+        assertNull(contents[2]);
+    }
+
+    @Test
+    void respectsTheStackSizeOfTheInventory() {
+        Inventory inventory = Mockito.mock(Inventory.class);
+        Mockito.when(inventory.getContents()).thenReturn(new ItemStack[] {new ItemStack(Material.STONE, 10), null, null, null});
+        Mockito.when(inventory.getMaxStackSize()).thenReturn(16);
+        InventorySnapshot snapshot = new InventorySnapshot(inventory);
+
+        assertEquals(0, snapshot.add(new ItemStack(Material.STONE, 30)));
+
+        ItemStack[] contents = snapshot.getContents();
+        assertEquals(16, contents[0].getAmount());
+        assertEquals(16, contents[1].getAmount());
+        assertEquals(8, contents[2].getAmount());
+        assertNull(contents[3]);
+
+        assertEquals(3, snapshot.apply());
+        Mockito.verify(inventory, Mockito.times(3)).setItem(ArgumentMatchers.anyInt(), ArgumentMatchers.any());
+        Mockito.verify(inventory, Mockito.never()).setItem(ArgumentMatchers.eq(3), ArgumentMatchers.any());
+    }
+
+    @Test
+    void returnsWhatDoesNotFit() {
+        ItemStack[] contents = new ItemStack[] {new ItemStack(Material.STONE, 64), null, null};
+        InventorySnapshot snapshot = new InventorySnapshot(contents);
+        snapshot.reserve(2);
+
+        List<ItemStack> leftover = snapshot.addAll(Arrays.asList(
+                new ItemStack(Material.DIRT, 100),
+                new ItemStack(Material.STONE, 5)
+        ));
+
+        assertEquals(64, contents[1].getAmount());
+        assertEquals(Material.DIRT, contents[1].getType());
+        assertNull(contents[2]);
+
+        assertEquals(2, leftover.size());
+        assertEquals(new ItemStack(Material.DIRT, 36), leftover.get(0));
+        assertEquals(new ItemStack(Material.STONE, 5), leftover.get(1));
+    }
+}
@@ -0,0 +1,168 @@
+package com.craftaro.core.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemCodecTest {
+    private MockedStatic<Bukkit> server;
+    private MockedStatic<BinaryItemNbt> nbt;
+
+    @BeforeEach
+    void setUp() {
+        // items without meta, so no server is needed to compare them
+        ItemFactory itemFactory = Mockito.mock(ItemFactory.class);
+        this.server = Mockito.mockStatic(Bukkit.class);
+        this.server.when(Bukkit::getItemFactory).thenReturn(itemFactory);
+
+        // the material name stands in for the item NBT
+        this.nbt = Mockito.mockStatic(BinaryItemNbt.class);
+        this.nbt.when(() -> BinaryItemNbt.write(ArgumentMatchers.any(ItemStack.class), ArgumentMatchers.any(DataOutput.class)))
+                .thenAnswer(invocation -> {
+                    invocation.<DataOutput>getArgument(1).writeUTF(invocation.<ItemStack>getArgument(0).getType().name());
+                    return null;
+                });
+        this.nbt.when(() -> BinaryItemNbt.read(ArgumentMatchers.any(DataInputStream.class)))
+                .thenAnswer(invocation -> new ItemStack(Material.valueOf(invocation.<DataInputStream>getArgument(0).readUTF())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.nbt.close();
+        this.server.close();
+    }
+
+    @Test
+    void emptySlots() {
+        ItemStack[] items = new ItemStack[] {null, new ItemStack(Material.AIR), null};
+
+        ItemStack[] result = ItemCodec.decode(ItemCodec.encode(items));
+
+        assertNotNull(result);
+        assertArrayEquals(new ItemStack[3], result);
+    }
+
+    @Test
+    void roundTripWithoutCompression() {
+        assertRoundTrip(ItemCodec.Compression.NONE);
+    }
+
+    @Test
+    void roundTripWithDeflate() {
+        assertRoundTrip(ItemCodec.Compression.DEFLATE);
+    }
+
+    @Test
+    void equalItemsAreStoredOnce() {
+        ItemStack[] items = new ItemStack[] {
+                new ItemStack(Material.STONE, 64),
+                new ItemStack(Material.STONE, 3),
+                new ItemStack(Material.DIRT, 1),
+                new ItemStack(Material.STONE, 64)
+        };
+
+        ItemStack[] result = ItemCodec.decode(ItemCodec.encode(items, ItemCodec.Compression.NONE));
+
+        this.nbt.verify(() -> BinaryItemNbt.write(ArgumentMatchers.any(), ArgumentMatchers.any()), Mockito.times(2));
+        this.nbt.verify(() -> BinaryItemNbt.read(ArgumentMatchers.any()), Mockito.times(2));
+        assertNotNull(result);
+        assertEquals(Arrays.asList(items), Arrays.asList(result));
+    }
+
+    @Test
+    void singleItem() {
+        ItemStack item = new ItemStack(Material.DIAMOND, 5);
+
+        byte[] data = ItemCodec.encodeItem(item);
+
+        assertTrue(ItemCodec.isEncoded(data));
+        assertEquals(item, ItemCodec.decodeItem(data));
+    }
+
+    @Test
+    void legacyBase64() {
+        String legacy = ItemUtils.itemStackArrayToBase64(new ItemStack[2]);
+
+        ItemStack[] result = ItemCodec.decodeString(legacy);
+
+        assertNotNull(result);
+        assertArrayEquals(new ItemStack[2], result);
+    }
+
+    @Test
+    void truncatedInput() {
+        ItemStack[] items = new ItemStack[] {new ItemStack(Material.STONE, 10), new ItemStack(Material.DIRT, 20)};
+
+        byte[] data = ItemCodec.encode(items, ItemCodec.Compression.NONE);
+        for (int length = 4; length < data.length; ++length) {
+            assertNull(ItemCodec.decode(Arrays.copyOf(data, length)), "truncated to " + length);
+        }
+
+        // the end of a deflate stream only holds its checksum, so cut into the compressed data
+        byte[] compressed = ItemCodec.encode(items, ItemCodec.Compression.DEFLATE);
+        assertNull(ItemCodec.decode(Arrays.copyOf(compressed, compressed.length / 2)));
+    }
+
+    @Test
+    void corruptInput() {
+        // negative slot count
+        assertNull(ItemCodec.decode(encoded(0xFF, 0xFF, 0xFF, 0xFF, 0x0F)));
+        // slot count too large to allocate
+        assertNull(ItemCodec.decode(encoded(0xFF, 0xFF, 0xFF, 0x7F)));
+        // reference to an item that has not been stored
+        assertNull(ItemCodec.decode(encoded(0x01, 0x05, 0x01)));
+        // NBT length larger than the input
+        assertNull(ItemCodec.decode(encoded(0x01, 0x01, 0xFF, 0xFF, 0x7F)));
+        // unknown version and compression
+        assertNull(ItemCodec.decode(new byte[] {(byte) 0xC1, 0x7E, 0x7F, 0x00}));
+        assertNull(ItemCodec.decode(new byte[] {(byte) 0xC1, 0x7E, 0x01, 0x7F}));
+        // neither this format nor Java serialization
+        assertNull(ItemCodec.decode(new byte[] {0x01, 0x02, 0x03}));
+    }
+
+    private void assertRoundTrip(ItemCodec.Compression compression) {
+        ItemStack[] items = new ItemStack[] {
+                new ItemStack(Material.STONE, 64),
+                null,
+                new ItemStack(Material.DIRT, 12),
+                new ItemStack(Material.STONE, 1)
+        };
+
+        ItemStack[] result = ItemCodec.decode(ItemCodec.encode(items, compression));
+
+        assertNotNull(result);
+        assertEquals(Arrays.asList(items), Arrays.asList(result));
+    }
+
+    /**
+     * @return an uncompressed body with the given bytes after the header
+     */
+    private static byte[] encoded(int... body) {
+        byte[] data = new byte[4 + body.length];
+        data[0] = (byte) 0xC1;
+        data[1] = 0x7E;
+        data[2] = 0x01;
+        data[3] = 0x00;
+        for (int i = 0; i < body.length; ++i) {
+            data[4 + i] = (byte) body[i];
+        }
+        return data;
+    }
+}
@@ -0,0 +1,135 @@
+package com.craftaro.core.world;
+
+import com.craftaro.core.database.SerializedLocation;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockLocationIndexTest {
+    @Test
+    void putGetRemove() {
+        BlockLocationIndex<String> index = new BlockLocationIndex<>();
+        int worldId = WorldRegistry.getId("index_world");
+
+        assertNull(index.put(worldId, SerializedLocation.packBlock(1, 64, -1), "a"));
+        assertEquals("a", index.put(worldId, SerializedLocation.packBlock(1, 64, -1), "b"));
+        assertEquals(1, index.size());
+
+        assertEquals("b", index.get(worldId, SerializedLocation.packBlock(1, 64, -1)));
+        assertNull(index.get(worldId, SerializedLocation.packBlock(-1, 64, 1)));
+        assertNull(index.get(worldId + 1, SerializedLocation.packBlock(1, 64, -1)));
+
+        assertEquals("b", index.remove(worldId, SerializedLocation.packBlock(1, 64, -1)));
+        assertNull(index.remove(worldId, SerializedLocation.packBlock(1, 64, -1)));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    void rejectsNullValues() {
+        BlockLocationIndex<String> index = new BlockLocationIndex<>();
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(0, 0, null));
+    }
+
+    @Test
+    void keepsAllEntriesWhenResizing() {
+        BlockLocationIndex<Integer> index = new BlockLocationIndex<>();
+        int worldId = WorldRegistry.getId("index_world");
+
+        for (int i = 0; i < 10_000; ++i) {
+            index.put(worldId, SerializedLocation.packBlock(i, i % 256, -i), i);
+        }
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; ++i) {
+            assertEquals(i, index.get(worldId, SerializedLocation.packBlock(i, i % 256, -i)));
+        }
+    }
+
+    @Test
+    void findsEntriesAfterRemovingAndReinserting() {
+        BlockLocationIndex<Long> index = new BlockLocationIndex<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // a small area makes neighbouring keys share probe sequences, so removals have to shift entries back
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < 5_000; ++i) {
+            long key = SerializedLocation.packBlock(random.nextInt(64) - 32, random.nextInt(16), random.nextInt(64) - 32);
+            keys.add(key);
+            index.put(0, key, key);
+            expected.put(key, key);
+        }
+
+        Collections.shuffle(keys, random);
+        for (int i = 0; i < keys.size() / 2; ++i) {
+            long key = keys.get(i);
+            assertEquals(expected.remove(key), index.remove(0, key));
+        }
+        assertIndexEquals(expected, index);
+
+        for (int i = 0; i < keys.size() / 4; ++i) {
+            long key = keys.get(i);
+            index.put(0, key, key);
+            expected.put(key, key);
+        }
+        assertIndexEquals(expected, index);
+    }
+
+    @Test
+    void forEachVisitsAllEntries() {
+        BlockLocationIndex<String> index = new BlockLocationIndex<>();
+        int worldId = WorldRegistry.getId("index_world");
+        index.put(worldId, SerializedLocation.packBlock(-5, -64, 7), "a");
+        index.put(worldId, SerializedLocation.packBlock(3, 320, -9), "b");
+
+        Map<String, String> visited = new HashMap<>();
+        index.forEach((worldName, x, y, z, value) -> visited.put(worldName + " " + x + " " + y + " " + z, value));
+
+        assertEquals(2, visited.size());
+        assertEquals("a", visited.get("index_world -5 -64 7"));
+        assertEquals("b", visited.get("index_world 3 320 -9"));
+    }
+
+    @Test
+    void clearWorld() {
+        World world = Mockito.mock(World.class);
+        Mockito.when(world.getName()).thenReturn("cleared_world");
+
+        BlockLocationIndex<String> index = new BlockLocationIndex<>();
+        index.put(world, 1, 2, 3, "a");
+        index.put(WorldRegistry.getId("index_world"), SerializedLocation.packBlock(1, 2, 3), "b");
+
+        index.clear(world);
+
+        assertNull(index.get(world, 1, 2, 3));
+        assertFalse(index.isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    private static void assertIndexEquals(Map<Long, Long> expected, BlockLocationIndex<Long> index) {
+        assertEquals(expected.size(), index.size());
+
+        for (int x = -32; x < 32; ++x) {
+            for (int y = 0; y < 16; ++y) {
+                for (int z = -32; z < 32; ++z) {
+                    long key = SerializedLocation.packBlock(x, y, z);
+                    assertEquals(expected.get(key), index.get(0, key));
+                }
+            }
+        }
+    }
+}
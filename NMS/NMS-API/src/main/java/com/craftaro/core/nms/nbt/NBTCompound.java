@@ -1,5 +1,15 @@
 package com.craftaro.core.nms.nbt;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -12,6 +22,8 @@ public interface NBTCompound {
 
     NBTCompound set(String tag, double i);
 
+    NBTCompound set(String tag, float f);
+
     NBTCompound set(String tag, long l);
 
     NBTCompound set(String tag, short s);
@@ -26,6 +38,65 @@ public interface NBTCompound {
 
     NBTCompound remove(String tag);
 
+    /**
+     * Set many tags in one call. <br>
+     * Supported values are strings, booleans, numbers of the types supported by the other setters,
+     * int and byte arrays and UUIDs.
+     *
+     * @param values the values by tag, null values remove the tag
+     *
+     * @throws IllegalArgumentException if a value has an unsupported type
+     */
+    default NBTCompound setAll(Map<String, ?> values) {
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            final String tag = entry.getKey();
+            final Object value = entry.getValue();
+
+            if (value == null) {
+                remove(tag);
+            } else if (value instanceof String) {
+                set(tag, (String) value);
+            } else if (value instanceof Integer) {
+                set(tag, (int) value);
+            } else if (value instanceof Boolean) {
+                set(tag, (boolean) value);
+            } else if (value instanceof Float) {
+                set(tag, (float) value);
+            } else if (value instanceof Double) {
+                set(tag, (double) value);
+            } else if (value instanceof Long) {
+                set(tag, (long) value);
+            } else if (value instanceof Short) {
+                set(tag, (short) value);
+            } else if (value instanceof Byte) {
+                set(tag, (byte) value);
+            } else if (value instanceof int[]) {
+                set(tag, (int[]) value);
+            } else if (value instanceof byte[]) {
+                set(tag, (byte[]) value);
+            } else if (value instanceof UUID) {
+                set(tag, (UUID) value);
+            } else {
+                throw new IllegalArgumentException("Unsupported NBT value for " + tag + ": " + value);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Read many tags in one call, leaving out the tags that do not exist. <br>
+     * The values are read according to their NBT type, without an {@link NBTObject} per tag: strings, numbers as
+     * {@link Byte}, {@link Short}, {@link Integer}, {@link Long}, {@link Float} or {@link Double}
+     * (booleans are stored as bytes), int and byte arrays and compounds as {@link NBTCompound}.
+     * Lists and other types are left out.
+     *
+     * @param tags the tags to read
+     *
+     * @return the values of the tags that exist, by tag
+     */
+    Map<String, Object> getAll(String... tags);
+
     boolean has(String tag);
 
     NBTObject getNBTObject(String tag);
@@ -58,5 +129,90 @@ public interface NBTCompound {
 
     void deSerialize(byte[] serialized);
 
+    /**
+     * Write this compound as uncompressed NBT
+     *
+     * @param out        where to write the compound
+     * @param exclusions tags that should not be written
+     */
+    void writeTo(DataOutput out, String... exclusions) throws IOException;
+
+    /**
+     * Replace this compound with uncompressed NBT
+     *
+     * @param in where to read the compound from
+     */
+    void readFrom(DataInput in) throws IOException;
+
+    /**
+     * Write this compound, without the Java serialization wrapper used by {@link #serialize(String...)}
+     *
+     * @param out         where to write the compound, is not closed
+     * @param compression how to compress the compound
+     * @param exclusions  tags that should not be written
+     */
+    default void serializeTo(OutputStream out, NBTCompression compression, String... exclusions) throws IOException {
+        try (DataOutputStream dataOutput = new DataOutputStream(compression.compress(out))) {
+            writeTo(dataOutput, exclusions);
+        }
+    }
+
+    /**
+     * Write this compound into a buffer
+     *
+     * @param buffer      where to write the compound, starting at its position
+     * @param compression how to compress the compound
+     * @param exclusions  tags that should not be written
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    default void serializeTo(ByteBuffer buffer, NBTCompression compression, String... exclusions) throws IOException {
+        serializeTo(NBTCompression.asOutputStream(buffer), compression, exclusions);
+    }
+
+    /**
+     * Write this compound, using a buffer that is reused by the current thread
+     *
+     * @param compression how to compress the compound
+     * @param exclusions  tags that should not be written
+     *
+     * @return the written compound
+     */
+    default byte[] serialize(NBTCompression compression, String... exclusions) throws IOException {
+        ByteArrayOutputStream buffer = NBTCompression.borrowBuffer();
+
+        try {
+            serializeTo(buffer, compression, exclusions);
+            return buffer.toByteArray();
+        } finally {
+            NBTCompression.releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Replace this compound with one written by {@link #serializeTo(OutputStream, NBTCompression, String...)}
+     *
+     * @param in          where to read the compound from, is not closed
+     * @param compression how the compound has been compressed
+     */
+    default void deSerializeFrom(InputStream in, NBTCompression compression) throws IOException {
+        try (DataInputStream dataInput = new DataInputStream(compression.decompress(in))) {
+            readFrom(dataInput);
+        }
+    }
+
+    /**
+     * Replace this compound with one written by {@link #serializeTo(ByteBuffer, NBTCompression, String...)}
+     *
+     * @param buffer      where to read the compound from, starting at its position.
+     *                    Afterwards, the position is right behind the compound, even if it has been compressed.
+     * @param compression how the compound has been compressed
+     */
+    default void deSerializeFrom(ByteBuffer buffer, NBTCompression compression) throws IOException {
+        try (DataInputStream dataInput = new DataInputStream(compression.decompress(buffer))) {
+            readFrom(dataInput);
+        }
+    }
+
     void addExtras();
 }
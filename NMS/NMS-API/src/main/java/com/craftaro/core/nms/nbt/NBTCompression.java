@@ -0,0 +1,317 @@
+package com.craftaro.core.nms.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * How {@link NBTCompound#serializeTo(OutputStream, NBTCompression, String...)} compresses the NBT. <br>
+ * {@link #DEFLATE} uses a deflater per thread that is reused instead of allocating native memory for every compound.
+ */
+public enum NBTCompression {
+    /**
+     * Raw NBT, the fastest option for small compounds or data that is compressed later on
+     */
+    NONE,
+    /**
+     * Deflate without the gzip header and checksum
+     */
+    DEFLATE,
+    /**
+     * The gzip format used by Minecraft's own NBT files
+     */
+    GZIP;
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+    private static final ThreadLocal<Inflater> GZIP_INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+    private static final ThreadLocal<ByteArrayOutputStream> BUFFERS = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(BUFFER_SIZE));
+    /**
+     * Buffers that grew larger than this are not kept for the next use
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Wrap a stream to compress what is written to it. <br>
+     * Closing the returned stream finishes the compression, but does not close the given stream.
+     */
+    OutputStream compress(OutputStream out) throws IOException {
+        OutputStream target = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        switch (this) {
+            case DEFLATE:
+                Deflater deflater = DEFLATERS.get();
+                deflater.reset();
+                return new DeflaterOutputStream(target, deflater, BUFFER_SIZE);
+            case GZIP:
+                return new GZIPOutputStream(target, BUFFER_SIZE);
+            default:
+                return target;
+        }
+    }
+
+    /**
+     * Wrap a stream to decompress what is read from it. <br>
+     * Closing the returned stream does not close the given stream.
+     * Compressed streams may read past the end of the NBT.
+     */
+    InputStream decompress(InputStream in) throws IOException {
+        InputStream source = new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // the given stream is owned by the caller
+            }
+        };
+
+        switch (this) {
+            case DEFLATE:
+                Inflater inflater = INFLATERS.get();
+                inflater.reset();
+                return new InflaterInputStream(source, inflater, BUFFER_SIZE);
+            case GZIP:
+                return new GZIPInputStream(source, BUFFER_SIZE);
+            default:
+                return source;
+        }
+    }
+
+    /**
+     * Wrap a buffer to decompress what is read from it. <br>
+     * Unlike {@link #decompress(InputStream)}, the compressed data is not read ahead: closing the returned stream
+     * moves the position of the buffer right behind the compressed data, so several compounds can be read in a row.
+     */
+    InputStream decompress(ByteBuffer buffer) throws IOException {
+        switch (this) {
+            case DEFLATE:
+                Inflater inflater = INFLATERS.get();
+                inflater.reset();
+                return new BufferInflaterInputStream(buffer, inflater, null);
+            case GZIP:
+                readGzipHeader(buffer);
+
+                Inflater gzipInflater = GZIP_INFLATERS.get();
+                gzipInflater.reset();
+                return new BufferInflaterInputStream(buffer, gzipInflater, new CRC32());
+            default:
+                return asInputStream(buffer);
+        }
+    }
+
+    /**
+     * @return an empty buffer of the current thread, to be released with {@link #releaseBuffer(ByteArrayOutputStream)}
+     */
+    static ByteArrayOutputStream borrowBuffer() {
+        ByteArrayOutputStream buffer = BUFFERS.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    static void releaseBuffer(ByteArrayOutputStream buffer) {
+        if (buffer.size() > MAX_POOLED_BUFFER_SIZE) {
+            BUFFERS.remove();
+        }
+    }
+
+    /**
+     * Writes into a buffer without copying, throws a {@link java.nio.BufferOverflowException} if it is full
+     */
+    static OutputStream asOutputStream(ByteBuffer buffer) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                buffer.put((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buffer.put(b, off, len);
+            }
+        };
+    }
+
+    private static void readGzipHeader(ByteBuffer buffer) throws IOException {
+        if (readUnsignedByte(buffer) != 0x1F || readUnsignedByte(buffer) != 0x8B) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUnsignedByte(buffer) != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+
+        final int flags = readUnsignedByte(buffer);
+        // modification time, extra flags and operating system
+        skip(buffer, 6);
+
+        if ((flags & 4) != 0) {
+            // extra field
+            skip(buffer, readUnsignedByte(buffer) | readUnsignedByte(buffer) << 8);
+        }
+        if ((flags & 8) != 0) {
+            // zero-terminated file name
+            while (readUnsignedByte(buffer) != 0) {
+            }
+        }
+        if ((flags & 16) != 0) {
+            // zero-terminated comment
+            while (readUnsignedByte(buffer) != 0) {
+            }
+        }
+        if ((flags & 2) != 0) {
+            // header checksum
+            skip(buffer, 2);
+        }
+    }
+
+    private static long readUnsignedIntLE(ByteBuffer buffer) throws IOException {
+        return readUnsignedByte(buffer)
+                | readUnsignedByte(buffer) << 8
+                | readUnsignedByte(buffer) << 16
+                | (long) readUnsignedByte(buffer) << 24;
+    }
+
+    private static int readUnsignedByte(ByteBuffer buffer) throws IOException {
+        if (!buffer.hasRemaining()) {
+            throw new EOFException("Unexpected end of compressed NBT");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private static void skip(ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            throw new EOFException("Unexpected end of compressed NBT");
+        }
+        buffer.position(buffer.position() + bytes);
+    }
+
+    /**
+     * Reads from a buffer without copying
+     */
+    static InputStream asInputStream(ByteBuffer buffer) {
+        return new InputStream() {
+            @Override
+            public int read() {
+                return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!buffer.hasRemaining()) {
+                    return -1;
+                }
+
+                len = Math.min(len, buffer.remaining());
+                buffer.get(b, off, len);
+                return len;
+            }
+
+            @Override
+            public int available() {
+                return buffer.remaining();
+            }
+        };
+    }
+
+    /**
+     * Feeds the inflater from a buffer in small chunks, so the bytes after the compressed data can be given back
+     */
+    private static final class BufferInflaterInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private final Inflater inflater;
+        private final CRC32 crc;
+        private final byte[] input = new byte[BUFFER_SIZE];
+        private final byte[] single = new byte[1];
+        private boolean closed;
+
+        private BufferInflaterInputStream(ByteBuffer buffer, Inflater inflater, CRC32 crc) {
+            this.buffer = buffer;
+            this.inflater = inflater;
+            this.crc = crc;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(this.single, 0, 1) == -1 ? -1 : this.single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            try {
+                int read;
+                while ((read = this.inflater.inflate(b, off, len)) == 0) {
+                    if (this.inflater.finished()) {
+                        return -1;
+                    }
+                    if (this.inflater.needsDictionary()) {
+                        throw new ZipException("Compressed NBT needs a dictionary");
+                    }
+
+                    if (!this.buffer.hasRemaining()) {
+                        throw new EOFException("Unexpected end of compressed NBT");
+                    }
+                    final int chunk = Math.min(this.input.length, this.buffer.remaining());
+                    this.buffer.get(this.input, 0, chunk);
+                    this.inflater.setInput(this.input, 0, chunk);
+                }
+
+                if (this.crc != null) {
+                    this.crc.update(b, off, read);
+                }
+                return read;
+            } catch (DataFormatException ex) {
+                throw new ZipException(ex.getMessage());
+            }
+        }
+
+        /**
+         * Reads up to the end of the compressed data and gives the bytes after it back to the buffer
+         */
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+
+            // the NBT may end before the inflater reached the end of the compressed data
+            while (read() != -1) {
+                // not part of the compound
+            }
+            this.buffer.position(this.buffer.position() - this.inflater.getRemaining());
+
+            if (this.crc != null) {
+                if (readUnsignedIntLE(this.buffer) != this.crc.getValue()
+                        || readUnsignedIntLE(this.buffer) != (this.inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+                    throw new ZipException("Corrupt GZIP trailer");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.craftaro.core.nms.nbt;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NBTCompoundTest {
+    @Test
+    void consecutiveCompoundsInBuffer() throws Exception {
+        for (NBTCompression compression : NBTCompression.values()) {
+            List<String> read = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+            compound("first", read).serializeTo(buffer, compression);
+            compound("second", read).serializeTo(buffer, compression);
+            buffer.putInt(42);
+            buffer.flip();
+
+            NBTCompound compound = compound(null, read);
+            compound.deSerializeFrom(buffer, compression);
+            compound.deSerializeFrom(buffer, compression);
+
+            assertEquals(Arrays.asList("first", "second"), read, compression.name());
+            assertEquals(42, buffer.getInt(), compression.name());
+        }
+    }
+
+    @Test
+    void truncatedCompressedCompound() throws Exception {
+        for (NBTCompression compression : new NBTCompression[] {NBTCompression.DEFLATE, NBTCompression.GZIP}) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            compound("first", new ArrayList<>()).serializeTo(buffer, compression);
+            buffer.flip();
+            buffer.limit(buffer.limit() - 2);
+
+            NBTCompound compound = compound(null, new ArrayList<>());
+            assertThrows(EOFException.class, () -> compound.deSerializeFrom(buffer, compression), compression.name());
+        }
+    }
+
+    /**
+     * @return a compound that writes its value and some padding, and adds the values it reads to the list
+     */
+    private static NBTCompound compound(String value, List<String> read) throws Exception {
+        NBTCompound compound = Mockito.mock(NBTCompound.class, Mockito.CALLS_REAL_METHODS);
+
+        Mockito.doAnswer(invocation -> {
+            DataOutput out = invocation.getArgument(0);
+            out.writeUTF(value);
+            for (int i = 0; i < 2000; ++i) {
+                out.writeInt(i);
+            }
+            return null;
+        }).when(compound).writeTo(ArgumentMatchers.any(DataOutput.class), ArgumentMatchers.any());
+
+        Mockito.doAnswer(invocation -> {
+            DataInput in = invocation.getArgument(0);
+            read.add(in.readUTF());
+            for (int i = 0; i < 2000; ++i) {
+                assertEquals(i, in.readInt());
+            }
+            return null;
+        }).when(compound).readFrom(ArgumentMatchers.any(DataInput.class));
+
+        return compound;
+    }
+}
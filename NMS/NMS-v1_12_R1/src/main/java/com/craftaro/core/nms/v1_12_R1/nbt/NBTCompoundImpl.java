@@ -2,14 +2,21 @@ package com.craftaro.core.nms.v1_12_R1.nbt;
 
 import com.craftaro.core.nms.nbt.NBTCompound;
 import com.craftaro.core.nms.nbt.NBTObject;
+import net.minecraft.server.v1_12_R1.NBTBase;
 import net.minecraft.server.v1_12_R1.NBTCompressedStreamTools;
+import net.minecraft.server.v1_12_R1.NBTReadLimiter;
 import net.minecraft.server.v1_12_R1.NBTTagCompound;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -48,6 +55,12 @@ public class NBTCompoundImpl implements NBTCompound {
         return this;
     }
 
+    @Override
+    public NBTCompound set(String tag, float f) {
+        compound.setFloat(tag, f);
+        return this;
+    }
+
     @Override
     public NBTCompound set(String tag, long l) {
         compound.setLong(tag, l);
@@ -90,6 +103,54 @@ public class NBTCompoundImpl implements NBTCompound {
         return this;
     }
 
+    @Override
+    public Map<String, Object> getAll(String... tags) {
+        Map<String, Object> values = new HashMap<>(tags.length * 2);
+
+        for (String tag : tags) {
+            NBTBase value = compound.get(tag);
+            if (value == null) {
+                continue;
+            }
+
+            // NBT type ids, NBTBase has no named constants in every version
+            switch (value.getTypeId()) {
+                case 1:
+                    values.put(tag, compound.getByte(tag));
+                    break;
+                case 2:
+                    values.put(tag, compound.getShort(tag));
+                    break;
+                case 3:
+                    values.put(tag, compound.getInt(tag));
+                    break;
+                case 4:
+                    values.put(tag, compound.getLong(tag));
+                    break;
+                case 5:
+                    values.put(tag, compound.getFloat(tag));
+                    break;
+                case 6:
+                    values.put(tag, compound.getDouble(tag));
+                    break;
+                case 7:
+                    values.put(tag, compound.getByteArray(tag));
+                    break;
+                case 8:
+                    values.put(tag, compound.getString(tag));
+                    break;
+                case 10:
+                    values.put(tag, new NBTCompoundImpl((NBTTagCompound) value));
+                    break;
+                case 11:
+                    values.put(tag, compound.getIntArray(tag));
+                    break;
+            }
+        }
+
+        return values;
+    }
+
     @Override
     public boolean has(String tag) {
         return compound.hasKey(tag);
@@ -171,7 +232,7 @@ public class NBTCompoundImpl implements NBTCompound {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
              ObjectOutputStream dataOutput = new ObjectOutputStream(outputStream)) {
             addExtras();
-            NBTTagCompound compound = this.compound.g(); // Changed in 1.12
+            NBTTagCompound compound = exclusions.length == 0 ? this.compound : this.compound.g(); // Changed in 1.12
 
             for (String exclusion : exclusions) {
                 compound.remove(exclusion);
@@ -197,6 +258,23 @@ public class NBTCompoundImpl implements NBTCompound {
         }
     }
 
+    @Override
+    public void writeTo(DataOutput out, String... exclusions) throws IOException {
+        addExtras();
+        NBTTagCompound compound = exclusions.length == 0 ? this.compound : this.compound.g();
+
+        for (String exclusion : exclusions) {
+            compound.remove(exclusion);
+        }
+
+        NBTCompressedStreamTools.a(compound, out);
+    }
+
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        compound = NBTCompressedStreamTools.a(in, NBTReadLimiter.a);
+    }
+
     @Override
     public void addExtras() {
         // None
@@ -2,13 +2,23 @@ package com.craftaro.core.nms.v1_18_R1.nbt;
 
 import com.craftaro.core.nms.nbt.NBTCompound;
 import com.craftaro.core.nms.nbt.NBTObject;
+import net.minecraft.nbt.ByteArrayTag;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NumericTag;
+import net.minecraft.nbt.Tag;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -47,6 +57,12 @@ public class NBTCompoundImpl implements NBTCompound {
         return this;
     }
 
+    @Override
+    public NBTCompound set(String tag, float f) {
+        compound.putFloat(tag, f);
+        return this;
+    }
+
     @Override
     public NBTCompound set(String tag, long l) {
         compound.putLong(tag, l);
@@ -89,6 +105,53 @@ public class NBTCompoundImpl implements NBTCompound {
         return this;
     }
 
+    @Override
+    public Map<String, Object> getAll(String... tags) {
+        Map<String, Object> values = new HashMap<>(tags.length * 2);
+
+        for (String tag : tags) {
+            Tag value = compound.get(tag);
+            if (value == null) {
+                continue;
+            }
+
+            switch (value.getId()) {
+                case Tag.TAG_BYTE:
+                    values.put(tag, ((NumericTag) value).getAsByte());
+                    break;
+                case Tag.TAG_SHORT:
+                    values.put(tag, ((NumericTag) value).getAsShort());
+                    break;
+                case Tag.TAG_INT:
+                    values.put(tag, ((NumericTag) value).getAsInt());
+                    break;
+                case Tag.TAG_LONG:
+                    values.put(tag, ((NumericTag) value).getAsLong());
+                    break;
+                case Tag.TAG_FLOAT:
+                    values.put(tag, ((NumericTag) value).getAsFloat());
+                    break;
+                case Tag.TAG_DOUBLE:
+                    values.put(tag, ((NumericTag) value).getAsDouble());
+                    break;
+                case Tag.TAG_STRING:
+                    values.put(tag, value.getAsString());
+                    break;
+                case Tag.TAG_BYTE_ARRAY:
+                    values.put(tag, ((ByteArrayTag) value).getAsByteArray());
+                    break;
+                case Tag.TAG_INT_ARRAY:
+                    values.put(tag, ((IntArrayTag) value).getAsIntArray());
+                    break;
+                case Tag.TAG_COMPOUND:
+                    values.put(tag, new NBTCompoundImpl((CompoundTag) value));
+                    break;
+            }
+        }
+
+        return values;
+    }
+
     @Override
     public boolean has(String tag) {
         return compound.contains(tag);
@@ -170,7 +233,7 @@ public class NBTCompoundImpl implements NBTCompound {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
              ObjectOutputStream dataOutput = new ObjectOutputStream(outputStream)) {
             addExtras();
-            CompoundTag compound = this.compound.copy();
+            CompoundTag compound = exclusions.length == 0 ? this.compound : this.compound.copy();
 
             for (String exclusion : exclusions) {
                 compound.remove(exclusion);
@@ -196,6 +259,23 @@ public class NBTCompoundImpl implements NBTCompound {
         }
     }
 
+    @Override
+    public void writeTo(DataOutput out, String... exclusions) throws IOException {
+        addExtras();
+        CompoundTag compound = exclusions.length == 0 ? this.compound : this.compound.copy();
+
+        for (String exclusion : exclusions) {
+            compound.remove(exclusion);
+        }
+
+        NbtIo.write(compound, out);
+    }
+
+    @Override
+    public void readFrom(DataInput in) throws IOException {
+        compound = NbtIo.read(in, NbtAccounter.UNLIMITED);
+    }
+
     @Override
     public void addExtras() {
         // None